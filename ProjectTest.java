@@ -46,77 +46,84 @@ public class ProjectTest {
 			
 			File file = new File(args[0]);
 			
-			// Legge gli archi dal fileIn inserendo i vertici sorgente, i vertici
-			// destinazione e i pesi in tre ArrayList src, dest e pesi, rispettivamente
+			// Legge gli archi dal fileIn (mappato in memoria) inserendo i vertici sorgente,
+			// i vertici destinazione e i pesi in tre array primitivi src, dst e pesi
 			
-			BufferedReader br = new BufferedReader(new FileReader(file));
-			ArrayList<Integer> src = new ArrayList<Integer>();
-			ArrayList<Integer> dst = new ArrayList<Integer>();
-			ArrayList<Double> pesi = new ArrayList<Double>();
-			String st,strest;
-			int max=0,s,d,v,v2;
-			double p;
-			while ((st = br.readLine()) != null) {
-				v = st.indexOf("\t");
-				s = Integer.valueOf(st.substring(0,v));
-				strest = st.substring(v+1);
-				v2 = strest.indexOf("\t");
-				d = Integer.valueOf(strest.substring(0,v2));
-				p = Double.valueOf(strest.substring(v2+1));
-				if (s>max) max=s;
-				if (d>max) max=d;
-				src.add(s);
-				dst.add(d);
-				pesi.add(p);
-			}
+			long fase = MSTRecorder.begin();
+			EdgeList archiIn = EdgeListReader.read(file);
+			int[] src = archiIn.getSources();
+			int[] dst = archiIn.getDests();
+			double[] pesi = archiIn.getWeights();
+			int max = Math.max(archiIn.vertexNum()-1, 0);
+			MSTRecorder.phase("ProjectTest", MSTPhase.LOAD, fase, max+1, archiIn.edgeNum());
+			fase = MSTRecorder.begin();
 			
-			// Crea il relativo grafo
-			Graph<Integer> g = 
-				new GraphAL<Integer>();
-
-			ArrayList<Vertex<Integer>> nodi = 
-				new ArrayList<Vertex<Integer>>(max+1);
+			// Crea il relativo grafo non orientato in parallelo, con ogni arco
+			// memorizzato una sola volta e condiviso dai due estremi
+			ArrayList<Integer> nodi = new ArrayList<Integer>(max+1);
 			for (int i=0; i<=max; i++)
-				nodi.add(g.addVertex(i));
-			for (int j=0; j<src.size(); j++) {
-				g.addEdge(nodi.get(src.get(j)),
-					nodi.get(dst.get(j)),pesi.get(j));
-				g.addEdge(nodi.get(dst.get(j)),
-					nodi.get(src.get(j)),pesi.get(j));
-			}
+				nodi.add(i);
+			Graph<Integer> g = GraphALBuilder.buildUndirected(nodi, src, dst, pesi,
+				archiIn.edgeNum());
+			MSTRecorder.phase("ProjectTest", MSTPhase.BUILD, fase, max+1, archiIn.edgeNum());
 			
-			// Calcola il Minimum Spanning Tree
+			// Calcola il Minimum Spanning Tree in forma compatta, senza costruire un
+			// grafo risultato: il costo totale viene accumulato e gli archi raccolti
+			// in array primitivi (come indici dei vertici, che coincidono con i nodi)
 			MST<Integer> mst = new Boruvka<Integer>();
 			
 			start_t = System.currentTimeMillis();
-		    Graph<Integer> t = mst.MinimumSpanningTree(g);
+			MSTResult<Integer> risultato = mst.MinimumSpanningTreeResult(g);
+			EdgeList albero = risultato.getEdges();
             end_t = System.currentTimeMillis();
             elapsed = end_t - start_t;
             min = elapsed / 60000;
             sec = (double)(elapsed % 60000) / 1000.0;
 
-            File fout = new File("output.txt");
-            FileOutputStream fos = new FileOutputStream(fout);
-            BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(fos));
+			fase = MSTRecorder.begin();
 			
-			// Stampa il Minimum Spanning Tree ed il relativo costo
-			ArrayList<Vertex<Integer>> vert = t.vertexes();
-			for (int i=0; i<t.vertexNum(); i++) {
-				bw.write("Adiacenti a "+(vert.get(i)).getData()+":");
-				ArrayList<Edge<Integer>> archi = t.outEdges(vert.get(i));
-				for (int j=0; j<g.outDegree(vert.get(i)); j++) {
-					bw.write( "  "+ (archi.get(j)).getDest().getData()+" "+
-						(archi.get(j)).getWeight() );
+			// Raggruppa gli archi del MST per vertice (in entrambe le direzioni, 
+			// nell'ordine di selezione) in array primitivi
+			int n = max+1, k = albero.edgeNum();
+			int[] tSrc = albero.getSources(), tDst = albero.getDests();
+			double[] tPesi = albero.getWeights();
+			int[] inizio = new int[n+1];
+			for (int j=0; j<k; j++) {
+				inizio[tSrc[j]+1]++;
+				inizio[tDst[j]+1]++;
+			}
+			for (int i=0; i<n; i++) inizio[i+1] += inizio[i];
+			int[] pos = Arrays.copyOf(inizio, n);
+			int[] adiacenti = new int[2*k];
+			double[] pesiAdiacenti = new double[2*k];
+			for (int j=0; j<k; j++) {
+				adiacenti[pos[tSrc[j]]] = tDst[j];
+				pesiAdiacenti[pos[tSrc[j]]++] = tPesi[j];
+				adiacenti[pos[tDst[j]]] = tSrc[j];
+				pesiAdiacenti[pos[tDst[j]]++] = tPesi[j];
+			}
+
+			// Stampa il Minimum Spanning Tree ed il relativo costo, formattando i
+			// numeri direttamente nel buffer di un EdgeListWriter (senza String)
+			EdgeListWriter bw = new EdgeListWriter(new FileOutputStream("output.txt"));
+			for (int i=0; i<n; i++) {
+				bw.writeAscii("Adiacenti a ");
+				bw.writeInt(i);
+				bw.writeByte(':');
+				for (int j=inizio[i]; j<inizio[i+1]; j++) {
+					bw.writeAscii("  ");
+					bw.writeInt(adiacenti[j]);
+					bw.writeByte(' ');
+					bw.writeDouble(pesiAdiacenti[j]);
 				}
-                bw.newLine();
+				bw.writeByte('\n');
 			}
-			double totPesi = 0;
-			ArrayList<Edge<Integer>> e = t.edges();
-			for (int i=0; i < e.size(); i++) totPesi = totPesi + e.get(i).getWeight();
-            bw.write("Costo totale: "+totPesi/2);
-            bw.newLine();
-            bw.write("Elapsed time: " + min + " minuti e " + sec + " secondi");
-            bw.close();			
+			bw.writeAscii("Costo totale: ");
+			bw.writeDouble(risultato.totalWeight());
+			bw.writeByte('\n');
+			bw.writeAscii("Elapsed time: " + min + " minuti e " + sec + " secondi");
+			bw.close();
+			MSTRecorder.phase("ProjectTest", MSTPhase.OUTPUT, fase, max+1, archiIn.edgeNum());
 			
 		} catch (IOException e) {
 			e.printStackTrace();
@@ -2,22 +2,199 @@ package algorithm.graph.MST;
 
 import datastructure.graph.*;
 import datastructure.unionfind.*;
+import util.ParallelRange;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 /**
- * Generic graph computation of the Minimum Spanning Tree using the Boruvka algorithm
+ * Generic graph computation of the Minimum Spanning Tree using the Boruvka algorithm.
+ * Each round is executed in parallel on a ForkJoinPool: the edges are scanned in parallel
+ * to find the cheapest edge exiting from each component, then the components are
+ * contracted in parallel by merging each of them with the component reached by its
+ * cheapest edge in a lock-free ConcurrentUnionFind.
+ * Ties between edges with the same weight are broken by comparing their endpoints, so
+ * that the edges are totally ordered and the selected edges never form a cycle
  * @param <D> type of the data object in the graph vertexes
  */
-public class Boruvka<D> implements MST<D> {
+public class Boruvka<D> implements MST<D>, AutoCloseable {
+
+	/** the name of the algorithm in the reports to MSTRecorder */
+	protected static final String NAME = "Boruvka";
+
+	/** length under which an interval of edges or vertexes is processed sequentially */
+	protected static final int THRESHOLD = 1 << 13;
+
+	/** the pool running the parallel phases of the algorithm */
+	protected ForkJoinPool pool;
+
+	/** true if the pool has been created by the instance, which shuts it down in close */
+	protected boolean ownsPool;
+
+	/**
+	 * Creates an instance running on the common ForkJoinPool
+	 */
+	public Boruvka() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates an instance running on a new ForkJoinPool with a given parallelism, owned by
+	 * the instance: the pool is shut down by close
+	 * @param parallelism the number of worker threads
+	 */
+	public Boruvka(int parallelism) {
+		this(new ForkJoinPool(parallelism));
+		this.ownsPool = true;
+	}
+
+	/**
+	 * Creates an instance running on a given ForkJoinPool
+	 * @param pool the pool running the parallel phases
+	 */
+	public Boruvka(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Shuts down the pool if it has been created by the instance; a pool passed by the
+	 * caller (or the common pool) is left running. The instance must not be used to
+	 * compute other trees after it has been closed
+	 */
+	@Override
+	public void close() {
+		if (ownsPool) pool.shutdown();
+	}
 
 	/**
-	 * Computes a Minimum Spanning Tree of a passed graph using the Boruvka algorithm 
-	 * and returns the computed spanning tree represented as a graph
+	 * Computes a Minimum Spanning Tree of a passed graph using the Boruvka algorithm,
+	 * passing its edges to a sink at the end of the rounds; Cost: O(m log n)
+	 * work, where n and m are respectively the number of vertexes and edges in the graph,
+	 * since each round scans all the edges and at least halves the number of components.
+	 * If the graph is not connected a Minimum Spanning Forest is computed
 	 * @param graph the graph for which the Minimum Spanning Tree must be computed
-	 * @return the graph representing the computed Minimum Spanning Tree
-	 */	
-	public Graph<D> MinimumSpanningTree(Graph<D> graph) {
-		
+	 * @param sink the sink receiving the edges of the Minimum Spanning Tree
+	 */
+	public void MinimumSpanningTree(Graph<D> graph, MSTSink<D> sink) {
+
+		long t = MSTRecorder.begin();
+		ArrayList<Vertex<D>> vert = graph.vertexes(); //estrae i vertici dal grafo
+		int n = vert.size();
+
+		//copia gli archi in array primitivi per le scansioni parallele
+		int m = graph.edgeNum();
+		int[] src = new int[m];
+		int[] dst = new int[m];
+		double[] w = new double[m];
+		int pos = 0;
+		for (Edge<D> edge : graph.edgesView()) {
+			src[pos] = edge.getSource().getIndex();
+			dst[pos] = edge.getDest().getIndex();
+			w[pos++] = edge.getWeight();
+		}
+
+		int[] comp = new int[n]; //componente (rappresentante) di ogni vertice
+		for (int i = 0; i < n; i++) comp[i] = i;
+		ConcurrentUnionFind uf = new ConcurrentUnionFind(n); //unione concorrente delle componenti
+		AtomicIntegerArray best = new AtomicIntegerArray(n); //arco minimo uscente da ogni comp.
+		boolean[] selected = new boolean[m]; //flag che indica arco selezionato nell'MST
+		AtomicInteger unions = new AtomicInteger(); //archi selezionati nel round
+		MSTRecorder.phase(NAME, MSTPhase.BUILD, t, n, m);
+
+		long loop = MSTRecorder.begin();
+		int components = n, round = 0;
+		boolean merged = true;
+		while (merged) {
+			long r = MSTRecorder.begin();
+			//azzera l'arco minimo di ogni componente
+			ParallelRange.run(pool, 0, n, THRESHOLD, (lo, hi) -> {
+				for (int c = lo; c < hi; c++) best.set(c, -1);
+			});
+
+			//scansione parallela: arco minimo uscente da ogni componente
+			ParallelRange.run(pool, 0, m, THRESHOLD, (lo, hi) -> {
+				for (int j = lo; j < hi; j++) {
+					int cu = comp[src[j]];
+					int cv = comp[dst[j]];
+					if (cu != cv) {
+						offer(best, cu, j, src, dst, w);
+						offer(best, cv, j, src, dst, w);
+					}
+				}
+			});
+
+			//contrazione parallela: unisce ogni componente a quella raggiunta dal suo
+			//arco minimo; se due componenti si scelgono a vicenda solo una union riesce
+			ParallelRange.run(pool, 0, n, THRESHOLD, (lo, hi) -> {
+				int k = 0;
+				for (int c = lo; c < hi; c++) {
+					int b;
+					if (comp[c] == c && (b = best.get(c)) >= 0) {
+						int d = (comp[src[b]] == c) ? comp[dst[b]] : comp[src[b]];
+						if (uf.union(c, d)) {
+							selected[b] = true;
+							k++;
+						}
+					}
+				}
+				if (k > 0) unions.addAndGet(k);
+			});
+			int k = unions.getAndSet(0);
+			merged = k > 0;
+
+			//aggiorna la componente di ogni vertice con il nuovo rappresentante
+			if (merged) {
+				ParallelRange.run(pool, 0, n, THRESHOLD, (lo, hi) -> {
+					for (int v = lo; v < hi; v++) comp[v] = uf.find(comp[v]);
+				});
+			}
+			components -= k;
+			MSTRecorder.boruvkaRound(++round, components, k, r);
+		}
+		MSTRecorder.phase(NAME, MSTPhase.LOOP, loop, n, m);
+		MSTRecorder.edges(NAME, (long) m * round, n - components);
 
+		t = MSTRecorder.begin();
+		for (int j = 0; j < m; j++) {
+			if (selected[j])
+				sink.addEdge(vert.get(src[j]), vert.get(dst[j]), w[j]); //passa l'arco al sink
+		}
+		MSTRecorder.phase(NAME, MSTPhase.OUTPUT, t, n, m);
 	}
-	
+
+	/**
+	 * Proposes an edge as the cheapest edge exiting from a component, replacing
+	 * the current candidate with a compare-and-set if the edge is lighter
+	 * @param best the current cheapest edge of each component (-1 if none)
+	 * @param c the component
+	 * @param j the proposed edge
+	 * @param src the sources of the edges
+	 * @param dst the destinations of the edges
+	 * @param w the weights of the edges
+	 */
+	private static void offer(AtomicIntegerArray best, int c, int j, int[] src, int[] dst, double[] w) {
+		int cur = best.get(c);
+		while ((cur < 0 || lighter(j, cur, src, dst, w)) && !best.compareAndSet(c, cur, j))
+			cur = best.get(c);
+	}
+
+	/**
+	 * Compares two edges by weight, ordered as Double.compare (NaN after the positive
+	 * infinity), breaking ties on their (unordered) endpoints
+	 * @param a the first edge
+	 * @param b the second edge
+	 * @param src the sources of the edges
+	 * @param dst the destinations of the edges
+	 * @param w the weights of the edges
+	 * @return true if the first edge precedes the second one
+	 */
+	private static boolean lighter(int a, int b, int[] src, int[] dst, double[] w) {
+		int c = Double.compare(w[a], w[b]); //NaN dopo l'infinito positivo, come in Kruskal
+		if (c != 0) return c < 0;
+		int loA = Math.min(src[a], dst[a]), loB = Math.min(src[b], dst[b]);
+		if (loA != loB) return loA < loB;
+		return Math.max(src[a], dst[a]) < Math.max(src[b], dst[b]);
+	}
+
 }
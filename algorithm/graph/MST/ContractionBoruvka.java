@@ -0,0 +1,316 @@
+package algorithm.graph.MST;
+
+import datastructure.graph.*;
+import datastructure.unionfind.*;
+import util.ParallelRange;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Generic graph computation of the Minimum Spanning Tree using the Boruvka algorithm with
+ * edge contraction, meant for very large sparse graphs. The rounds run on primitive
+ * arrays of edges whose endpoints are components instead of vertexes: after each round
+ * the components are relabeled to the dense range 0, ..., k-1 (where k is the number of
+ * components left), the edges inside a component are dropped and, among the parallel
+ * edges connecting the same pair of components, only the lightest one is kept. The next
+ * round scans the shrunken array, so the work of the rounds decreases with the number
+ * of edges left instead of being m for every round as in Boruvka.
+ * As in Boruvka, the cheapest edges are found with a parallel scan and the components
+ * are merged in a ConcurrentUnionFind (a new one for each round, on the k components);
+ * the relabeling of the endpoints runs in parallel, while the filter of the edges is a
+ * sequential pass with a hash table on the pairs of components. The table is allocated
+ * once, at most half full, for the first round that uses it, and then reused by the
+ * following rounds; a round with more than MAX_PAIRS edges only drops the edges inside
+ * the components, so that the table never exceeds 2<sup>30</sup> slots. The original endpoints
+ * and weights are kept apart for the output, so the algorithm uses about twice the
+ * memory of Boruvka for the arrays of the edges.
+ * Ties between edges with the same weight are broken by comparing their positions in
+ * graph.edges(), which do not change when the edges are contracted
+ * @param <D> type of the data object in the graph vertexes
+ */
+public class ContractionBoruvka<D> extends Boruvka<D> {
+
+	/** the name of the algorithm in the reports to MSTRecorder */
+	protected static final String NAME = "ContractionBoruvka";
+
+	/** marker of an empty slot of the table of the filter */
+	private static final long EMPTY = -1L;
+
+	/** maximum number of edges deduplicated by the filter (the table has twice the slots) */
+	protected static final int MAX_PAIRS = 1 << 29;
+
+	/**
+	 * Creates an instance running on the common ForkJoinPool
+	 */
+	public ContractionBoruvka() {
+		super();
+	}
+
+	/**
+	 * Creates an instance running on a new ForkJoinPool with a given parallelism, owned by
+	 * the instance: the pool is shut down by close
+	 * @param parallelism the number of worker threads
+	 */
+	public ContractionBoruvka(int parallelism) {
+		super(parallelism);
+	}
+
+	/**
+	 * Creates an instance running on a given ForkJoinPool
+	 * @param pool the pool running the parallel phases
+	 */
+	public ContractionBoruvka(ForkJoinPool pool) {
+		super(pool);
+	}
+
+	/**
+	 * Computes a Minimum Spanning Tree of a passed graph using the Boruvka algorithm with
+	 * edge contraction, passing its edges to a sink at the end of the rounds (in the order
+	 * of graph.edges()); Cost: O(m log n) work in the worst case, where n and m are
+	 * respectively the number of vertexes and edges in the graph, but each round costs
+	 * O(n<sub>i</sub>+m<sub>i</sub>) expected time for the n<sub>i</sub> components and
+	 * the m<sub>i</sub> edges left, which for sparse graphs usually decrease geometrically.
+	 * If the graph is not connected a Minimum Spanning Forest is computed
+	 * @param graph the graph for which the Minimum Spanning Tree must be computed
+	 * @param sink the sink receiving the edges of the Minimum Spanning Tree
+	 */
+	@Override
+	public void MinimumSpanningTree(Graph<D> graph, MSTSink<D> sink) {
+
+		long t = MSTRecorder.begin();
+		ArrayList<Vertex<D>> vert = graph.vertexes(); //estrae i vertici dal grafo
+		int n = vert.size();
+
+		//copia gli archi in array primitivi: gli estremi originali servono per l'output,
+		//gli array di lavoro contengono estremi (componenti), pesi e posizione in
+		//graph.edges() di ogni arco ancora da considerare
+		int m = graph.edgeNum();
+		int[] origSrc = new int[m];
+		int[] origDst = new int[m];
+		int[] id = new int[m];
+		double[] w = new double[m];
+		int pos = 0;
+		for (Edge<D> edge : graph.edgesView()) {
+			origSrc[pos] = edge.getSource().getIndex();
+			origDst[pos] = edge.getDest().getIndex();
+			w[pos] = edge.getWeight();
+			id[pos] = pos++;
+		}
+		double[] origW = w.clone();
+		int[] src = origSrc.clone();
+		int[] dst = origDst.clone();
+
+		AtomicIntegerArray best = new AtomicIntegerArray(n); //arco minimo uscente da ogni comp.
+		int[] label = new int[n]; //nuova etichetta di ogni componente
+		int[] dense = new int[n]; //etichetta densa di ogni rappresentante
+		boolean[] selected = new boolean[m]; //flag che indica arco selezionato nell'MST
+		AtomicInteger unions = new AtomicInteger(); //archi selezionati nel round
+		long[] keys = null; //tabella del filtro, allocata al primo uso
+		int[] at = null;
+		MSTRecorder.phase(NAME, MSTPhase.BUILD, t, n, m);
+
+		long loop = MSTRecorder.begin();
+		int components = n, size = m, round = 0;
+		long scanned = 0;
+		while (size > 0) {
+			long r = MSTRecorder.begin();
+			int k = components, len = size;
+			//azzera l'arco minimo di ogni componente
+			ParallelRange.run(pool, 0, k, THRESHOLD, (lo, hi) -> {
+				for (int c = lo; c < hi; c++) best.set(c, -1);
+			});
+
+			//scansione parallela: arco minimo uscente da ogni componente
+			ParallelRange.run(pool, 0, len, THRESHOLD, (lo, hi) -> {
+				for (int j = lo; j < hi; j++) {
+					if (src[j] != dst[j]) {
+						offer(best, src[j], j, w, id);
+						offer(best, dst[j], j, w, id);
+					}
+				}
+			});
+			scanned += len;
+
+			//contrazione parallela: unisce ogni componente a quella raggiunta dal suo
+			//arco minimo; se due componenti si scelgono a vicenda solo una union riesce
+			ConcurrentUnionFind uf = new ConcurrentUnionFind(k);
+			ParallelRange.run(pool, 0, k, THRESHOLD, (lo, hi) -> {
+				int u = 0;
+				for (int c = lo; c < hi; c++) {
+					int b = best.get(c);
+					if (b >= 0 && uf.union(c, (src[b] == c) ? dst[b] : src[b])) {
+						selected[id[b]] = true;
+						u++;
+					}
+				}
+				if (u > 0) unions.addAndGet(u);
+			});
+			int merged = unions.getAndSet(0);
+			components -= merged;
+			if (merged == 0) {
+				MSTRecorder.boruvkaRound(++round, components, 0, r);
+				break;
+			}
+
+			//etichette dense: i rappresentanti ricevono 0, ..., components-1 in ordine
+			ParallelRange.run(pool, 0, k, THRESHOLD, (lo, hi) -> {
+				for (int c = lo; c < hi; c++) label[c] = uf.find(c);
+			});
+			for (int c = 0, next = 0; c < k; c++)
+				if (label[c] == c) dense[c] = next++;
+			ParallelRange.run(pool, 0, k, THRESHOLD, (lo, hi) -> {
+				for (int c = lo; c < hi; c++) label[c] = dense[label[c]];
+			});
+
+			//rietichetta gli estremi degli archi e li filtra
+			ParallelRange.run(pool, 0, len, THRESHOLD, (lo, hi) -> {
+				for (int j = lo; j < hi; j++) {
+					src[j] = label[src[j]];
+					dst[j] = label[dst[j]];
+				}
+			});
+			if (len <= MAX_PAIRS) {
+				if (keys == null) {
+					keys = new long[capacity(len)];
+					at = new int[keys.length];
+				}
+				size = filter(src, dst, w, id, len, keys, at);
+			} else {
+				size = dropLoops(src, dst, w, id, len); //troppi archi per la tabella
+			}
+			MSTRecorder.boruvkaRound(++round, components, merged, r);
+		}
+		MSTRecorder.phase(NAME, MSTPhase.LOOP, loop, n, m);
+		MSTRecorder.edges(NAME, scanned, n - components);
+
+		t = MSTRecorder.begin();
+		for (int j = 0; j < m; j++) {
+			if (selected[j])
+				sink.addEdge(vert.get(origSrc[j]), vert.get(origDst[j]), origW[j]); //passa l'arco al sink
+		}
+		MSTRecorder.phase(NAME, MSTPhase.OUTPUT, t, n, m);
+	}
+
+	/**
+	 * Compacts the first positions of the arrays of the edges, dropping the edges whose
+	 * endpoints are the same component and keeping only the lightest edge among the
+	 * edges connecting the same pair of components (the kept edges retain their relative
+	 * order); only the first capacity(size) slots of the table are cleared and used, so
+	 * that a table allocated for a larger round can be reused; Cost: O(size) expected time
+	 * @param src the first endpoints of the edges
+	 * @param dst the second endpoints of the edges
+	 * @param w the weights of the edges
+	 * @param id the positions of the edges in graph.edges()
+	 * @param size the number of edges to filter, at most MAX_PAIRS
+	 * @param keys the pairs of components of the table, with at least capacity(size) slots
+	 * @param at the positions in the compacted arrays of the edges of the pairs
+	 * @return the number of edges left, in the first positions of the arrays
+	 */
+	protected static int filter(int[] src, int[] dst, double[] w, int[] id, int size,
+			long[] keys, int[] at) {
+		int cap = capacity(size);
+		int mask = cap - 1;
+		Arrays.fill(keys, 0, cap, EMPTY);
+		int p = 0;
+		for (int j = 0; j < size; j++) {
+			int a = src[j], b = dst[j];
+			if (a == b) continue; //arco interno ad una componente
+			long key = ((long) Math.min(a, b) << 32) | Math.max(a, b);
+			int i = slot(key, mask);
+			while (keys[i] != EMPTY && keys[i] != key) i = (i + 1) & mask;
+			int q;
+			if (keys[i] == EMPTY) { //prima volta che si incontra la coppia
+				keys[i] = key;
+				q = at[i] = p++;
+			} else if (lighter(j, at[i], w, id)) { //sostituisce l'arco parallelo piu' pesante
+				q = at[i];
+			} else {
+				continue;
+			}
+			src[q] = a;
+			dst[q] = b;
+			w[q] = w[j];
+			id[q] = id[j];
+		}
+		return p;
+	}
+
+	/**
+	 * Compacts the first positions of the arrays of the edges, dropping only the edges
+	 * whose endpoints are the same component (the rounds with more than MAX_PAIRS edges
+	 * keep the parallel edges); Cost: &Theta;(size)
+	 * @param src the first endpoints of the edges
+	 * @param dst the second endpoints of the edges
+	 * @param w the weights of the edges
+	 * @param id the positions of the edges in graph.edges()
+	 * @param size the number of edges to filter
+	 * @return the number of edges left, in the first positions of the arrays
+	 */
+	protected static int dropLoops(int[] src, int[] dst, double[] w, int[] id, int size) {
+		int p = 0;
+		for (int j = 0; j < size; j++) {
+			if (src[j] == dst[j]) continue; //arco interno ad una componente
+			src[p] = src[j];
+			dst[p] = dst[j];
+			w[p] = w[j];
+			id[p++] = id[j];
+		}
+		return p;
+	}
+
+	/**
+	 * Returns the number of slots of the table of the filter for a given number of edges:
+	 * the smallest power of 2 which is at least twice the number of edges
+	 * @param size the number of edges, at most MAX_PAIRS
+	 * @return the number of slots, at most 2<sup>30</sup>
+	 */
+	protected static int capacity(int size) {
+		return Integer.highestOneBit(Math.max(4, size) * 2 - 1) << 1;
+	}
+
+	/**
+	 * Returns the home slot of a pair of components in the table of the filter
+	 * (multiplicative hashing)
+	 * @param key the pair of components
+	 * @param mask the capacity of the table minus 1
+	 * @return the home slot of the pair
+	 */
+	private static int slot(long key, int mask) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h >>> 32) & mask;
+	}
+
+	/**
+	 * Proposes an edge as the cheapest edge exiting from a component, replacing
+	 * the current candidate with a compare-and-set if the edge is lighter
+	 * @param best the current cheapest edge of each component (-1 if none)
+	 * @param c the component
+	 * @param j the proposed edge
+	 * @param w the weights of the edges
+	 * @param id the positions of the edges in graph.edges()
+	 */
+	private static void offer(AtomicIntegerArray best, int c, int j, double[] w, int[] id) {
+		int cur = best.get(c);
+		while ((cur < 0 || lighter(j, cur, w, id)) && !best.compareAndSet(c, cur, j))
+			cur = best.get(c);
+	}
+
+	/**
+	 * Compares two edges by weight, ordered as Double.compare (NaN after the positive
+	 * infinity), breaking ties on their positions in graph.edges()
+	 * @param a the first edge
+	 * @param b the second edge
+	 * @param w the weights of the edges
+	 * @param id the positions of the edges in graph.edges()
+	 * @return true if the first edge precedes the second one
+	 */
+	private static boolean lighter(int a, int b, double[] w, int[] id) {
+		int c = Double.compare(w[a], w[b]); //NaN dopo l'infinito positivo, come in Kruskal
+		if (c != 0) return c < 0;
+		return id[a] < id[b];
+	}
+
+}
@@ -0,0 +1,336 @@
+package algorithm.graph.MST;
+
+import datastructure.graph.*;
+import datastructure.unionfind.*;
+import util.ParallelRange;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Generic graph computation of the Minimum Spanning Tree using the Filter-Kruskal
+ * algorithm. Instead of sorting all the edges up front, the edges are partitioned around
+ * a pivot weight as in quicksort: the light half is processed first (recursively), then
+ * the edges of the heavy half whose endpoints are already connected are filtered out and
+ * only the remaining ones are processed. Small ranges are sorted and scanned as in Kruskal.
+ * Since most of the heavy edges are discarded by the filter without being sorted (in
+ * particular once the forest is complete), on dense graphs the sorting work is much smaller
+ * than in Kruskal. The partition and filter steps on large ranges run in parallel on a
+ * ForkJoinPool, using a ConcurrentUnionFind so that the filter can query the forest from
+ * many threads
+ * @param <D> type of the data object in the graph vertexes
+ */
+public class FilterKruskal<D> implements MST<D>, AutoCloseable {
+
+	/** the name of the algorithm in the reports to MSTRecorder */
+	protected static final String NAME = "FilterKruskal";
+
+	/** length under which a range is sorted and scanned directly */
+	protected static final int BASE = 1 << 10;
+
+	/** length under which a partition or a filter is executed sequentially */
+	protected static final int PARALLEL = 1 << 15;
+
+	/** length of the chunks of a parallel partition or filter */
+	protected static final int CHUNK = 1 << 13;
+
+	/** the pool running the parallel phases of the algorithm */
+	protected ForkJoinPool pool;
+
+	/** true if the pool has been created by the instance, which shuts it down in close */
+	protected boolean ownsPool;
+
+	/** the number of fallbacks to sort and scan in the last computation */
+	protected long fallbacks;
+
+	/**
+	 * Creates an instance running on the common ForkJoinPool
+	 */
+	public FilterKruskal() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates an instance running on a new ForkJoinPool with a given parallelism, owned by
+	 * the instance: the pool is shut down by close
+	 * @param parallelism the number of worker threads
+	 */
+	public FilterKruskal(int parallelism) {
+		this(new ForkJoinPool(parallelism));
+		this.ownsPool = true;
+	}
+
+	/**
+	 * Creates an instance running on a given ForkJoinPool
+	 * @param pool the pool running the parallel phases
+	 */
+	public FilterKruskal(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Shuts down the pool if it has been created by the instance; a pool passed by the
+	 * caller (or the common pool) is left running. The instance must not be used to
+	 * compute other trees after it has been closed
+	 */
+	@Override
+	public void close() {
+		if (ownsPool) pool.shutdown();
+	}
+
+	/**
+	 * Returns the number of times the last computation sorted and scanned a long range
+	 * directly because a split left no light edge and the filter removed no heavy edge
+	 * (it never happens when the partitions make progress); Cost: O(1)
+	 * @return the number of fallbacks of the last computation
+	 */
+	public long fallbackNum() {
+		return fallbacks;
+	}
+
+	/**
+	 * Computes a Minimum Spanning Tree of a passed graph using the Filter-Kruskal algorithm,
+	 * passing its edges to a sink in order of weight; Expected Cost:
+	 * O(m + n log n log(m/n)), where n and m are respectively the number of vertexes and
+	 * edges in the graph, for random edge weights
+	 * @param graph the graph for which the Minimum Spanning Tree must be computed
+	 * @param sink the sink receiving the edges of the Minimum Spanning Tree
+	 */
+	public void MinimumSpanningTree(Graph<D> graph, MSTSink<D> sink) {
+		long t = MSTRecorder.begin();
+		ArrayList<Vertex<D>> vert = graph.vertexes();
+		int n = vert.size();
+		int m = graph.edgeNum();
+		Run run = new Run(n, m);
+		int j = 0;
+		for (Edge<D> e : graph.edgesView()) {
+			run.src[j] = e.getSource().getIndex();
+			run.dst[j] = e.getDest().getIndex();
+			run.w[j++] = e.getWeight();
+		}
+		MSTRecorder.phase(NAME, MSTPhase.BUILD, t, n, m);
+		t = MSTRecorder.begin();
+		run.filterKruskal(0, m);
+		MSTRecorder.phase(NAME, MSTPhase.LOOP, t, n, m);
+		MSTRecorder.edges(NAME, run.scanned, run.selected);
+		fallbacks = run.fallbacks;
+		t = MSTRecorder.begin();
+		for (int k = 0; k < run.selected; k++)
+			sink.addEdge(vert.get(run.selSrc[k]), vert.get(run.selDst[k]), run.selW[k]); //passa l'arco al sink
+		MSTRecorder.phase(NAME, MSTPhase.OUTPUT, t, n, m);
+	}
+
+	/**
+	 * Predicate on the edges, used to split a range of edges
+	 */
+	private interface EdgePredicate {
+
+		/**
+		 * Tests an edge
+		 * @param j the position of the edge
+		 * @return true if the edge satisfies the predicate
+		 */
+		boolean test(int j);
+	}
+
+	/**
+	 * The state of a computation: the edges in primitive arrays, the union find
+	 * structure and the selected edges
+	 */
+	private class Run {
+
+		/** the endpoints and the weights of the edges */
+		final int[] src, dst;
+		final double[] w;
+
+		/** temporary arrays used by the splits */
+		final int[] tsrc, tdst;
+		final double[] tw;
+		final boolean[] flag;
+
+		/** the union find structure on the vertex indexes */
+		final ConcurrentUnionFind uf;
+
+		/** the selected edges */
+		final int[] selSrc, selDst;
+		final double[] selW;
+		int selected;
+
+		/** the number of edges scanned by the Kruskal steps */
+		long scanned;
+
+		/** the number of ranges sorted and scanned because a step made no progress */
+		long fallbacks;
+
+		/** the number of vertexes */
+		final int n;
+
+		/** random generator used to choose the pivots */
+		final SplittableRandom rnd = new SplittableRandom(0x5EED);
+
+		Run(int n, int m) {
+			this.n = n;
+			src = new int[m]; dst = new int[m]; w = new double[m];
+			tsrc = new int[m]; tdst = new int[m]; tw = new double[m];
+			flag = new boolean[m];
+			uf = new ConcurrentUnionFind(n);
+			selSrc = new int[Math.max(n - 1, 0)];
+			selDst = new int[Math.max(n - 1, 0)];
+			selW = new double[Math.max(n - 1, 0)];
+			selected = 0;
+		}
+
+		/**
+		 * Processes the edges in [lo,hi): the light edges recursively, then the heavy
+		 * edges whose endpoints are not yet connected
+		 * @param lo the first edge (included)
+		 * @param hi the last edge (excluded)
+		 */
+		void filterKruskal(int lo, int hi) {
+			while (hi - lo > BASE && selected < n - 1) {
+				double pivot = pivot(lo, hi);
+				int mid = split(lo, hi, j -> Double.compare(w[j], pivot) <= 0); //archi leggeri in [lo,mid)
+				if (mid == hi) { //nessun arco pesante: il pivot e' il massimo
+					mid = split(lo, hi, j -> Double.compare(w[j], pivot) < 0);
+					if (mid == lo) { //tutti gli archi hanno lo stesso peso
+						kruskal(lo, hi);
+						return;
+					}
+				}
+				boolean noLight = mid == lo;
+				filterKruskal(lo, mid); //prima gli archi leggeri
+				if (selected == n - 1) return; //foresta completa
+				lo = mid;
+				int kept = split(lo, hi, j -> uf.find(src[j]) != uf.find(dst[j])); //filtro
+				if (noLight && kept == hi) { //nessun progresso: ordina e scandisce il range
+					fallbacks++;
+					break;
+				}
+				hi = kept;
+			}
+			if (selected < n - 1) {
+				sort(lo, hi - 1);
+				kruskal(lo, hi);
+			}
+		}
+
+		/**
+		 * Scans the edges in [lo,hi) in order, selecting those connecting two
+		 * different trees of the forest
+		 * @param lo the first edge (included)
+		 * @param hi the last edge (excluded)
+		 */
+		void kruskal(int lo, int hi) {
+			int j;
+			for (j = lo; j < hi && selected < n - 1; j++) {
+				if (uf.union(src[j], dst[j])) { //set disgiunti quindi l'arco deve essere selezionato
+					selSrc[selected] = src[j];
+					selDst[selected] = dst[j];
+					selW[selected] = w[j];
+					selected++;
+				}
+			}
+			scanned += j - lo;
+		}
+
+		/**
+		 * Chooses a pivot weight as the median of three random edges of [lo,hi), ordering
+		 * the weights as Double.compare (NaN after the positive infinity, as in Kruskal)
+		 * @param lo the first edge (included)
+		 * @param hi the last edge (excluded)
+		 * @return the pivot weight
+		 */
+		double pivot(int lo, int hi) {
+			double a = w[lo + rnd.nextInt(hi - lo)];
+			double b = w[lo + rnd.nextInt(hi - lo)];
+			double c = w[lo + rnd.nextInt(hi - lo)];
+			if (Double.compare(a, b) > 0) { double x = a; a = b; b = x; } //a <= b
+			if (Double.compare(b, c) <= 0) return b;
+			return Double.compare(a, c) >= 0 ? a : c;
+		}
+
+		/**
+		 * Moves the edges of [lo,hi) satisfying a predicate at the beginning of the range,
+		 * keeping the relative order of the edges (the chunks of large ranges are
+		 * tested and moved in parallel)
+		 * @param lo the first edge (included)
+		 * @param hi the last edge (excluded)
+		 * @param p the predicate
+		 * @return the position following the last edge satisfying the predicate
+		 */
+		int split(int lo, int hi, EdgePredicate p) {
+			int chunks = (hi - lo <= PARALLEL) ? 1 : (hi - lo + CHUNK - 1) / CHUNK;
+			int[] count = new int[chunks + 1]; //archi che soddisfano p in ogni chunk
+			ParallelRange.run(pool, 0, chunks, 1, (a, b) -> {
+				for (int c = a; c < b; c++) {
+					int from = lo + c * CHUNK, to = (chunks == 1) ? hi : Math.min(hi, from + CHUNK);
+					int k = 0;
+					for (int j = from; j < to; j++)
+						if (flag[j] = p.test(j)) k++;
+					count[c + 1] = k;
+				}
+			});
+			for (int c = 0; c < chunks; c++) count[c + 1] += count[c]; //somme prefisse
+			int trues = count[chunks];
+			ParallelRange.run(pool, 0, chunks, 1, (a, b) -> {
+				for (int c = a; c < b; c++) {
+					int from = lo + c * CHUNK, to = (chunks == 1) ? hi : Math.min(hi, from + CHUNK);
+					int t = lo + count[c]; //posizione del prossimo arco che soddisfa p
+					int f = lo + trues + (from - lo - count[c]); //posizione del prossimo che non la soddisfa
+					for (int j = from; j < to; j++) {
+						int q = flag[j] ? t++ : f++;
+						tsrc[q] = src[j]; tdst[q] = dst[j]; tw[q] = w[j];
+					}
+				}
+			});
+			ParallelRange.run(pool, 0, chunks, 1, (a, b) -> {
+				int from = lo + a * CHUNK, to = (chunks == 1) ? hi : Math.min(hi, lo + b * CHUNK);
+				System.arraycopy(tsrc, from, src, from, to - from);
+				System.arraycopy(tdst, from, dst, from, to - from);
+				System.arraycopy(tw, from, w, from, to - from);
+			});
+			return lo + trues;
+		}
+
+		/**
+		 * Sorts the edges in [lo,hi] by weight with a three-way quicksort, ordering the
+		 * weights as Double.compare
+		 * @param lo the first edge (included)
+		 * @param hi the last edge (included)
+		 */
+		void sort(int lo, int hi) {
+			while (hi - lo > 16) {
+				double v = pivot(lo, hi + 1);
+				int lt = lo, gt = hi, i = lo;
+				while (i <= gt) { //[lo,lt) < v, [lt,i) == v, (gt,hi] > v
+					int c = Double.compare(w[i], v);
+					if (c < 0) swap(lt++, i++);
+					else if (c > 0) swap(i, gt--);
+					else i++;
+				}
+				if (lt - lo < hi - gt) { //ricorre sulla parte piu' corta
+					sort(lo, lt - 1);
+					lo = gt + 1;
+				} else {
+					sort(gt + 1, hi);
+					hi = lt - 1;
+				}
+			}
+			for (int i = lo + 1; i <= hi; i++) //insertion sort
+				for (int j = i; j > lo && Double.compare(w[j - 1], w[j]) > 0; j--)
+					swap(j - 1, j);
+		}
+
+		/**
+		 * Swaps two edges
+		 * @param a the position of the first edge
+		 * @param b the position of the second edge
+		 */
+		void swap(int a, int b) {
+			int s = src[a]; src[a] = src[b]; src[b] = s;
+			int d = dst[a]; dst[a] = dst[b]; dst[b] = d;
+			double x = w[a]; w[a] = w[b]; w[b] = x;
+		}
+	}
+
+}
@@ -0,0 +1,175 @@
+package algorithm.graph.MST;
+
+import datastructure.graph.*;
+import datastructure.linkcut.LinkCutTree;
+import java.util.ArrayList;
+
+/**
+ * Minimum Spanning Forest of a graph whose edges are only inserted, maintained online.
+ * The forest is stored in a LinkCutTree in which each forest edge is a node between its
+ * two endpoints, with the weight of the edge as value (the vertexes have value negative
+ * infinity), so that the heaviest edge on the forest path between two vertexes is a path
+ * maximum query. When an edge (u,v,w) is inserted:
+ * <ul>
+ * <li> if u and v are in different trees, the edge joins them;
+ * <li> otherwise, if w is smaller than the weight of the heaviest edge on the path between
+ * u and v, that edge is removed and replaced by the new one (cycle property);
+ * <li> otherwise the edge is discarded, since it can never enter the forest.
+ * </ul>
+ * Each insertion has an amortized cost of O(log n), independent of the number of edges
+ * inserted so far, and only O(n) memory is used
+ * @param <D> type of the data object in the graph vertexes
+ */
+public class IncrementalMST<D> {
+
+	/** the vertexes, by index */
+	protected ArrayList<Vertex<D>> vertexes;
+
+	/** the forest: nodes [0,n) are the vertexes, nodes [n,2n-1) the forest edges */
+	protected LinkCutTree forest;
+
+	/** the endpoints of the forest edges, by node - n */
+	protected int[] edgeU, edgeV;
+
+	/** the free edge nodes */
+	protected int[] free;
+
+	/** the number of free edge nodes */
+	protected int freeNum;
+
+	/** the number of vertexes */
+	protected int n;
+
+	/** the number of edges in the forest */
+	protected int treeEdges;
+
+	/** the total weight of the forest */
+	protected double totalWeight;
+
+	/**
+	 * Creates the Minimum Spanning Forest of a graph: the vertexes of the graph are the
+	 * vertexes of the forest and the edges of the graph are inserted;
+	 * Cost: O(m log n), where n and m are respectively the number of vertexes and edges
+	 * @param graph the initial graph
+	 */
+	public IncrementalMST(Graph<D> graph) {
+		vertexes = graph.vertexes();
+		n = vertexes.size();
+		int slots = Math.max(n - 1, 0); //una foresta ha al piu' n-1 archi
+		forest = new LinkCutTree(n + slots);
+		edgeU = new int[slots];
+		edgeV = new int[slots];
+		free = new int[slots];
+		for (int k = 0; k < slots; k++)
+			free[k] = n + slots - 1 - k;
+		freeNum = slots;
+		treeEdges = 0;
+		totalWeight = 0;
+		for (Edge<D> e : graph.edgesView())
+			addEdge(e.getSource(), e.getDest(), e.getWeight());
+	}
+
+	/**
+	 * Inserts an edge and updates the forest; Amortized Cost: O(log n), where n is the
+	 * number of vertexes
+	 * @param source the first endpoint of the edge
+	 * @param dest the second endpoint of the edge
+	 * @param weight the weight of the edge
+	 * @return true if the edge entered the forest
+	 */
+	public boolean addEdge(Vertex<D> source, Vertex<D> dest, double weight) {
+		int u = index(source), v = index(dest);
+		if (u == v) return false; //cappio: mai nella foresta
+		int max = forest.pathMax(u, v);
+		if (max != LinkCutTree.NONE) { //estremi nello stesso albero
+			if (!(weight < forest.getValue(max))) return false;
+			removeTreeEdge(max); //scambia con l'arco piu' pesante del ciclo
+		}
+		int e = free[--freeNum];
+		edgeU[e - n] = u;
+		edgeV[e - n] = v;
+		forest.setValue(e, weight);
+		forest.link(u, e);
+		forest.link(e, v);
+		treeEdges++;
+		totalWeight += weight;
+		return true;
+	}
+
+	/**
+	 * Removes an edge from the forest
+	 * @param e the node of the edge
+	 */
+	protected void removeTreeEdge(int e) {
+		forest.cut(edgeU[e - n], e);
+		forest.cut(e, edgeV[e - n]);
+		totalWeight -= forest.getValue(e);
+		forest.setValue(e, Double.NEGATIVE_INFINITY);
+		treeEdges--;
+		free[freeNum++] = e;
+	}
+
+	/**
+	 * Checks if two vertexes are connected by the edges inserted so far;
+	 * Amortized Cost: O(log n), where n is the number of vertexes
+	 * @param x the first vertex
+	 * @param y the second vertex
+	 * @return true if the vertexes are connected
+	 */
+	public boolean connected(Vertex<D> x, Vertex<D> y) {
+		return forest.connected(index(x), index(y));
+	}
+
+	/**
+	 * Returns the number of edges in the spanning forest; Cost: O(1)
+	 * @return the number of edges in the spanning forest
+	 */
+	public int treeEdgeNum() {
+		return treeEdges;
+	}
+
+	/**
+	 * Returns the total weight of the spanning forest; Cost: O(1)
+	 * @return the total weight of the spanning forest
+	 */
+	public double totalWeight() {
+		return totalWeight;
+	}
+
+	/**
+	 * Returns the current Minimum Spanning Forest represented as an undirected graph, with
+	 * each edge stored once as the MST implementations do; Cost: &Theta;(n), where n is the
+	 * number of vertexes
+	 * @return the graph representing the Minimum Spanning Forest
+	 */
+	public Graph<D> spanningForest() {
+		Graph<D> g = new GraphAL<D>(false);
+		ArrayList<Vertex<D>> newVert = new ArrayList<Vertex<D>>(n);
+		for (int i = 0; i < n; i++)
+			newVert.add(g.addVertex(vertexes.get(i).getData()));
+		boolean[] isFree = new boolean[edgeU.length];
+		for (int k = 0; k < freeNum; k++)
+			isFree[free[k] - n] = true;
+		for (int k = 0; k < edgeU.length; k++)
+			if (!isFree[k])
+				g.addEdge(newVert.get(edgeU[k]), newVert.get(edgeV[k]), forest.getValue(n + k));
+		return g;
+	}
+
+	/**
+	 * Returns the index of a vertex of the graph passed to the constructor: it is the
+	 * index of the vertex in the graph, unless vertexes have been removed from the graph
+	 * after the construction; Cost: O(1) (O(n) if the index of the vertex has changed)
+	 * @param v the vertex
+	 * @return the index of the vertex
+	 * @throws IllegalArgumentException if the vertex is not a vertex of the graph
+	 */
+	protected int index(Vertex<D> v) {
+		int i = v.getIndex();
+		if (i >= 0 && i < vertexes.size() && vertexes.get(i) == v) return i;
+		i = vertexes.indexOf(v); //il grafo e' cambiato dopo la costruzione
+		if (i < 0) throw new IllegalArgumentException("vertex not in the graph");
+		return i;
+	}
+
+}
@@ -1,59 +1,164 @@
 package algorithm.graph.MST;
 import datastructure.graph.*;
 import datastructure.unionfind.*;
+import algorithm.sorting.RadixSort;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
 
 /**
- * Generic graph computation of the Minimum Spanning Tree using the Kruskal algorithm
+ * Generic graph computation of the Minimum Spanning Tree using the Kruskal algorithm.
+ * The edges are sorted by weight with a radix sort on primitive arrays (see RadixSort),
+ * which is stable: edges with the same weight are scanned in the order of graph.edges().
+ * On large graphs the histograms of the radix sort are computed in parallel on the common
+ * ForkJoinPool (see RadixSort.PARALLEL); the scan of the sorted edges is sequential.
+ * An undirected graph (see GraphAL) stores each edge once, so only m edges are sorted
+ * instead of the 2m of a directed graph with each edge in both directions
  * @param <D> type of the data object in the graph vertexes
  */
 public class Kruskal<D> implements MST<D> {
 
+	/** the name of the algorithm in the reports to MSTRecorder */
+	protected static final String NAME = "Kruskal";
+
+	/** factory of the union find with a node for each vertex (used if unionFind is null) */
+	protected Supplier<UnionFind<D>> nodeUnionFind;
+
+	/** factory of the array union find used on the vertex indexes (null to use nodeUnionFind) */
+	protected IntFunction<IntUnionFind> unionFind;
+
+	/**
+	 * Creates an instance using a QuickUnionRank structure with a node for each vertex
+	 */
+	public Kruskal() {
+		this.nodeUnionFind = QuickUnionRank::new;
+		this.unionFind = null;
+	}
+
+	/**
+	 * Creates an instance using an union find structure with a node for each vertex,
+	 * e.g. <code>new Kruskal&lt;D&gt;(QuickFindSize::new)</code>
+	 * @param nodeUnionFind factory creating an empty union find structure
+	 */
+	public Kruskal(Supplier<UnionFind<D>> nodeUnionFind) {
+		this.nodeUnionFind = nodeUnionFind;
+		this.unionFind = null;
+	}
+
+	/**
+	 * Creates an instance using an union find structure over the vertex indexes,
+	 * e.g. <code>new Kruskal&lt;D&gt;(QuickUnionArrayHalving::new)</code>
+	 * @param unionFind factory creating the union find structure for a given number of vertexes
+	 */
+	public Kruskal(IntFunction<IntUnionFind> unionFind) {
+		this.unionFind = unionFind;
+	}
+
 	/**
-	 * Computes a Minimum Spanning Tree of a passed graph using the Kruskal algorithm 
-	 * and returns the computed spanning tree represented as a graph; Cost: O(m log n),
+	 * Computes a Minimum Spanning Tree of a passed graph using the Kruskal algorithm,
+	 * passing its edges to a sink in order of weight; Cost: O(m log n),
 	 * where n and m are respectively the number of vertexes and edges in the graph
 	 * @param graph the graph for which the Minimum Spanning Tree must be computed
-	 * @return the graph representing the computed Minimum Spanning Tree
+	 * @param sink the sink receiving the edges of the Minimum Spanning Tree
 	 */	
-	public Graph<D> MinimumSpanningTree(Graph<D> graph) {
+	public void MinimumSpanningTree(Graph<D> graph, MSTSink<D> sink) {
 		
-	Graph<D>g = new GraphAL<D>();  //grafo per rappresentare il MST da restituire alla fine
-	HashMap<Vertex<D>, Vertex<D>> newVert = new HashMap<Vertex<D>, Vertex<D>>(); //mappa tra vecchi e nuovi vert.
-	QuickUnionRank<D> uf = new QuickUnionRank<D>();  //struttura union find uf
-	HashMap<Vertex<D>, UnionFindNode<D>> ufnodes = new HashMap<Vertex<D>, UnionFindNode<D>>(); //mappa da vert. a set in uf
+	if (unionFind != null) {
+		indexMinimumSpanningTree(graph, sink);
+		return;
+	}
+	int n = graph.vertexNum(), m = graph.edgeNum();
+	long t = MSTRecorder.begin();
+	UnionFind<D> uf = nodeUnionFind.get();  //struttura union find uf
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	UnionFindNode<D>[] ufnodes = (UnionFindNode<D>[]) new UnionFindNode[n]; //set in uf di ogni vertice, per indice
 	for (Vertex<D> v : graph.vertexes()) {
-		newVert.put(v, g.addVertex(v.getData())); //nuovo vertice associato a v
-		ufnodes.put(v, uf.makeSet(v.getData())); //singoletto in uf associato a v
+		ufnodes[v.getIndex()] = uf.makeSet(v.getData()); //singoletto in uf associato a v
 	}
 	ArrayList<Edge<D>> e = graph.edges(); //estrae gli archi dal grafo
- 	e.sort(new CompEdge()); //ordina gli archi usando specifico comparator per archi
-	for (Edge<D> edge : e){
+	MSTRecorder.phase(NAME, MSTPhase.BUILD, t, n, m);
+	t = MSTRecorder.begin();
+	int[] order = sortedEdges(e); //ordina gli archi
+	MSTRecorder.phase(NAME, MSTPhase.SORT, t, n, m);
+	t = MSTRecorder.begin();
+	int selected = 0;
+	for (int j : order){ //archi in ordine di peso
+		Edge<D> edge = e.get(j);
 		Vertex<D> u = edge.getSource(); 
 		Vertex<D> v = edge.getDest(); 
 		double w = edge.getWeight();
-		UnionFindNode<D> ru = uf.find(ufnodes.get(u)); //rappresentante del set della sorgente
-		UnionFindNode<D> rv = uf.find(ufnodes.get(v)); //rappresentante del set della destinazione
+		UnionFindNode<D> ru = uf.find(ufnodes[u.getIndex()]); //rappresentante del set della sorgente
+		UnionFindNode<D> rv = uf.find(ufnodes[v.getIndex()]); //rappresentante del set della destinazione
 		if (!ru.equals(rv)) { //set disgiunti quindi l'arco deve essere selezionato
 		uf.union(ru, rv); //unisce i set di sorgente e destinazione
-		g.addEdge(newVert.get(u),newVert.get(v),w); //aggiunge arco in g
-		g.addEdge(newVert.get(v),newVert.get(u),w); //in entrambe le direzioni
+		sink.addEdge(u, v, w); //passa l'arco al sink
+		selected++;
 		}
 	}
-	return g;
+	MSTRecorder.phase(NAME, MSTPhase.LOOP, t, n, m);
+	MSTRecorder.edges(NAME, m, selected);
+	if (uf instanceof InstrumentedUnionFind)
+		MSTRecorder.unionFind(NAME, (InstrumentedUnionFind<D>)uf);
 }
-	
+
 	/**
-	 * The comparator used for sorting the edges of the graph
-	 */	
-	private class CompEdge implements Comparator<Edge<D>> {
-		public int compare(Edge<D> e1, Edge<D> e2) {
-			if (e1.getWeight() > e2.getWeight())
-				return 1; 
-			else
-				return -1;
+	 * Computes a Minimum Spanning Tree of a passed graph using the Kruskal algorithm
+	 * with an union find structure over the vertex indexes, so that the loop on the
+	 * sorted edges does not perform any hash lookup; Cost: O(m log n),
+	 * where n and m are respectively the number of vertexes and edges in the graph
+	 * @param graph the graph for which the Minimum Spanning Tree must be computed
+	 * @param sink the sink receiving the edges of the Minimum Spanning Tree
+	 */
+	protected void indexMinimumSpanningTree(Graph<D> graph, MSTSink<D> sink) {
+		long t = MSTRecorder.begin();
+		ArrayList<Vertex<D>> vert = graph.vertexes();
+		int n = vert.size();
+		int m = graph.edgeNum();
+		int[] s = new int[m]; //indici degli estremi e pesi degli archi, senza copiare gli archi
+		int[] d = new int[m];
+		double[] w = new double[m];
+		int j = 0;
+		for (Edge<D> edge : graph.edgesView()) {
+			s[j] = edge.getSource().getIndex();
+			d[j] = edge.getDest().getIndex();
+			w[j++] = edge.getWeight();
 		}
+		MSTRecorder.phase(NAME, MSTPhase.BUILD, t, n, m);
+		t = MSTRecorder.begin();
+		int[] order = RadixSort.sortByWeight(w, m, ForkJoinPool.commonPool()); //ordina gli archi
+		int[] src = new int[m]; //indici degli estremi degli archi ordinati
+		int[] dst = new int[m];
+		double[] weight = new double[m];
+		for (int k = 0; k < m; k++) {
+			src[k] = s[order[k]];
+			dst[k] = d[order[k]];
+			weight[k] = w[order[k]];
+		}
+		MSTRecorder.phase(NAME, MSTPhase.SORT, t, n, m);
+		t = MSTRecorder.begin();
+		IntUnionFind uf = unionFind.apply(n); //struttura union find sugli indici
+		int selected = 0;
+		for (j = 0; j < m; j++) {
+			if (uf.union(src[j], dst[j])) { //set disgiunti quindi l'arco deve essere selezionato
+				sink.addEdge(vert.get(src[j]), vert.get(dst[j]), weight[j]); //passa l'arco al sink
+				selected++;
+			}
+		}
+		MSTRecorder.phase(NAME, MSTPhase.LOOP, t, n, m);
+		MSTRecorder.edges(NAME, m, selected);
+	}
+	
+	/**
+	 * Returns the positions of the edges of a list ordered by weight, computed with a
+	 * radix sort (edges with the same weight keep their order); Cost: &Theta;(m)
+	 * @param e the list of edges
+	 * @return the positions of the edges in the list, ordered by weight
+	 */
+	protected int[] sortedEdges(ArrayList<Edge<D>> e) {
+		double[] weight = new double[e.size()];
+		for (int j = 0; j < e.size(); j++)
+			weight[j] = e.get(j).getWeight();
+		return RadixSort.sortByWeight(weight, weight.length, ForkJoinPool.commonPool());
 	}
 }
\ No newline at end of file
@@ -10,10 +10,37 @@ public interface MST<D> {
 
 	/**
 	 * Computes a Minimum Spanning Tree of a passed graph and returns
-	 * the computed spanning tree represented as a graph.
+	 * the computed spanning tree represented as an undirected graph, with each edge
+	 * stored once (the edges are collected by a MSTGraphBuilder).
 	 * @param graph the graph for which the Minimum Spanning Tree must be computed
 	 * @return the graph representing the computed Minimum Spanning Tree
 	 */	
-	public Graph<D> MinimumSpanningTree(Graph<D> graph);
+	public default Graph<D> MinimumSpanningTree(Graph<D> graph) {
+		MSTGraphBuilder<D> builder = new MSTGraphBuilder<D>(graph);
+		MinimumSpanningTree(graph, builder);
+		return builder.getGraph();
+	}
+
+	/**
+	 * Computes a Minimum Spanning Tree of a passed graph and returns it in compact form,
+	 * as the indexes of the endpoints of its edges, its total weight and the number of
+	 * components, without building a graph for the result (see MSTResult.toGraph).
+	 * @param graph the graph for which the Minimum Spanning Tree must be computed
+	 * @return the computed Minimum Spanning Tree
+	 */
+	public default MSTResult<D> MinimumSpanningTreeResult(Graph<D> graph) {
+		MSTResult<D> result = new MSTResult<D>(graph);
+		MinimumSpanningTree(graph, result);
+		return result;
+	}
+
+	/**
+	 * Computes a Minimum Spanning Tree of a passed graph, passing each of its edges
+	 * once to a sink, without building a graph for the result.
+	 * @param graph the graph for which the Minimum Spanning Tree must be computed
+	 * @param sink the sink receiving the edges of the Minimum Spanning Tree, whose
+	 * endpoints are vertexes of <code>graph</code>
+	 */
+	public void MinimumSpanningTree(Graph<D> graph, MSTSink<D> sink);
 	
 }
@@ -0,0 +1,70 @@
+package algorithm.graph.MST;
+
+import datastructure.graph.*;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.ToIntFunction;
+
+/**
+ * Sink writing the edges of a Minimum Spanning Tree in binary form, 16 bytes per edge:
+ * the integer identifiers of the two endpoints (computed from their data) and the weight,
+ * in the big-endian format of DataOutputStream (the same format of the runs of
+ * SemiExternalKruskal)
+ * @param <D> type of the data object in the graph vertexes
+ */
+public class MSTBinaryWriter<D> implements MSTSink<D>, AutoCloseable {
+
+	/** the stream receiving the edges */
+	protected DataOutputStream out;
+
+	/** the function computing the identifier of a vertex from its data */
+	protected ToIntFunction<D> id;
+
+	/**
+	 * Creates a writer on a given stream, e.g.
+	 * <code>new MSTBinaryWriter&lt;Integer&gt;(out, Integer::intValue)</code>
+	 * @param out the stream receiving the bytes
+	 * @param id the function computing the identifier of a vertex from its data
+	 */
+	public MSTBinaryWriter(OutputStream out, ToIntFunction<D> id) {
+		this.out = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+		this.id = id;
+	}
+
+	/**
+	 * Writes an edge; Cost: O(1)
+	 * @param source the first endpoint of the edge
+	 * @param dest the second endpoint of the edge
+	 * @param weight the weight of the edge
+	 * @throws UncheckedIOException if the stream cannot be written
+	 */
+	public void addEdge(Vertex<D> source, Vertex<D> dest, double weight) {
+		try {
+			out.writeInt(id.applyAsInt(source.getData()));
+			out.writeInt(id.applyAsInt(dest.getData()));
+			out.writeDouble(weight);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Writes the buffered edges and flushes the stream
+	 * @throws IOException if the stream cannot be written
+	 */
+	public void flush() throws IOException {
+		out.flush();
+	}
+
+	/**
+	 * Flushes the writer and closes the stream
+	 * @throws IOException if the stream cannot be written
+	 */
+	public void close() throws IOException {
+		out.close();
+	}
+
+}
@@ -0,0 +1,156 @@
+package algorithm.graph.MST;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The JDK Flight Recorder events of the Minimum Spanning Tree computations, committed
+ * by MSTRecorder. The events are disabled unless a recording enables them (e.g.
+ * <code>java -XX:StartFlightRecording ...</code>, whose default settings enable all the
+ * custom events): when they are disabled, committing them costs a branch
+ */
+public final class MSTEvents {
+
+	/**
+	 * Not instantiable
+	 */
+	private MSTEvents() { }
+
+	/**
+	 * A phase of a computation
+	 */
+	@Name("mst.Phase")
+	@Label("MST Phase")
+	@Category({ "Algorithms", "MST" })
+	@Description("A phase of a Minimum Spanning Tree computation")
+	@StackTrace(false)
+	public static class PhaseEvent extends Event {
+
+		@Label("Algorithm")
+		public String algorithm;
+
+		@Label("Phase")
+		public String phase;
+
+		@Label("Elapsed")
+		@Timespan(Timespan.NANOSECONDS)
+		public long elapsed;
+
+		@Label("Vertexes")
+		public int vertexes;
+
+		@Label("Edges")
+		public long edges;
+	}
+
+	/**
+	 * A round of the Boruvka algorithm
+	 */
+	@Name("mst.BoruvkaRound")
+	@Label("Boruvka Round")
+	@Category({ "Algorithms", "MST" })
+	@Description("A round of the Boruvka algorithm")
+	@StackTrace(false)
+	public static class BoruvkaRoundEvent extends Event {
+
+		@Label("Round")
+		public int round;
+
+		@Label("Components Left")
+		public int components;
+
+		@Label("Selected Edges")
+		public int selected;
+
+		@Label("Elapsed")
+		@Timespan(Timespan.NANOSECONDS)
+		public long elapsed;
+	}
+
+	/**
+	 * The edges examined and selected by a computation
+	 */
+	@Name("mst.Edges")
+	@Label("MST Edges")
+	@Category({ "Algorithms", "MST" })
+	@Description("Edges examined and selected by a Minimum Spanning Tree computation")
+	@StackTrace(false)
+	public static class EdgesEvent extends Event {
+
+		@Label("Algorithm")
+		public String algorithm;
+
+		@Label("Scanned Edges")
+		public long scanned;
+
+		@Label("Selected Edges")
+		public long selected;
+	}
+
+	/**
+	 * The operations on the priority queue of a Prim computation
+	 */
+	@Name("mst.HeapOperations")
+	@Label("Prim Heap Operations")
+	@Category({ "Algorithms", "MST" })
+	@Description("Operations on the priority queue of a Prim computation")
+	@StackTrace(false)
+	public static class HeapEvent extends Event {
+
+		@Label("Heap")
+		public String heap;
+
+		@Label("Inserts")
+		public long inserts;
+
+		@Label("Decrease Keys")
+		public long decreaseKeys;
+
+		@Label("Delete Mins")
+		public long deleteMins;
+	}
+
+	/**
+	 * The measurements of an InstrumentedUnionFind at the end of a computation
+	 */
+	@Name("mst.UnionFind")
+	@Label("MST Union Find")
+	@Category({ "Algorithms", "MST" })
+	@Description("Operations, find path lengths and relabels of the union find structure of a Minimum Spanning Tree computation")
+	@StackTrace(false)
+	public static class UnionFindEvent extends Event {
+
+		@Label("Algorithm")
+		public String algorithm;
+
+		@Label("Structure")
+		public String structure;
+
+		@Label("Make Sets")
+		public long makeSets;
+
+		@Label("Unions")
+		public long unions;
+
+		@Label("Merges")
+		public long merges;
+
+		@Label("Finds")
+		public long finds;
+
+		@Label("Total Find Path Length")
+		public long findPathTotal;
+
+		@Label("Total Relabels")
+		public long relabelTotal;
+
+		@Label("Maximum Height")
+		public int height;
+	}
+
+}
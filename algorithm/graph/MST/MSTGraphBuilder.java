@@ -0,0 +1,52 @@
+package algorithm.graph.MST;
+
+import datastructure.graph.*;
+import java.util.ArrayList;
+
+/**
+ * Sink building the graph representing a Minimum Spanning Tree: the graph has a new
+ * vertex for each vertex of the input graph, with the same data and in the same order,
+ * and it is undirected, so that each received edge is stored once and visited from both
+ * its endpoints (see GraphAL)
+ * @param <D> type of the data object in the graph vertexes
+ */
+public class MSTGraphBuilder<D> implements MSTSink<D> {
+
+	/** the graph being built */
+	protected Graph<D> g;
+
+	/** the new vertexes, by index of the corresponding vertex of the input graph */
+	protected ArrayList<Vertex<D>> newVert;
+
+	/**
+	 * Creates an undirected graph implemented using adjacent lists with the vertexes of a
+	 * given graph and no edge; Cost: &Theta;(n), where n is the number of vertexes
+	 * @param graph the input graph
+	 */
+	public MSTGraphBuilder(Graph<D> graph) {
+		g = new GraphAL<D>(false);
+		newVert = new ArrayList<Vertex<D>>(graph.vertexNum());
+		for (Vertex<D> v : graph.vertexes())
+			newVert.add(g.addVertex(v.getData())); //nuovo vertice con lo stesso indice di v
+	}
+
+	/**
+	 * Adds an edge to the graph, shared by its endpoints; Cost: O(1)
+	 * @param source the first endpoint of the edge, a vertex of the input graph
+	 * @param dest the second endpoint of the edge, a vertex of the input graph
+	 * @param weight the weight of the edge
+	 */
+	public void addEdge(Vertex<D> source, Vertex<D> dest, double weight) {
+		Vertex<D> u = newVert.get(source.getIndex()), v = newVert.get(dest.getIndex());
+		g.addEdge(u, v, weight); //aggiunge arco in g, visibile da entrambi gli estremi
+	}
+
+	/**
+	 * Returns the built graph
+	 * @return the graph representing the Minimum Spanning Tree
+	 */
+	public Graph<D> getGraph() {
+		return g;
+	}
+
+}
@@ -0,0 +1,58 @@
+package algorithm.graph.MST;
+
+import datastructure.unionfind.InstrumentedUnionFind;
+
+/**
+ * Receiver of the metrics of the Minimum Spanning Tree computations, registered with
+ * MSTRecorder.setMetrics. All the methods do nothing by default, so that an
+ * implementation only overrides the metrics it is interested in. The methods are called
+ * a few times for each computation (never for each edge), possibly from different threads
+ * if several computations run at the same time
+ */
+public interface MSTMetrics {
+
+	/**
+	 * Receives the duration of a phase of a computation
+	 * @param algorithm the name of the algorithm
+	 * @param phase the phase
+	 * @param nanos the duration of the phase, in nanoseconds
+	 * @param vertexes the number of vertexes of the input
+	 * @param edges the number of edges of the input
+	 */
+	public default void phase(String algorithm, MSTPhase phase, long nanos, int vertexes, long edges) { }
+
+	/**
+	 * Receives the result of a round of the Boruvka algorithm
+	 * @param round the number of the round, starting from 1
+	 * @param components the number of components left after the round
+	 * @param selected the number of edges selected in the round
+	 * @param nanos the duration of the round, in nanoseconds
+	 */
+	public default void boruvkaRound(int round, int components, int selected, long nanos) { }
+
+	/**
+	 * Receives the number of edges examined and selected by a computation
+	 * @param algorithm the name of the algorithm
+	 * @param scanned the number of edges examined
+	 * @param selected the number of edges selected in the Minimum Spanning Tree
+	 */
+	public default void edges(String algorithm, long scanned, long selected) { }
+
+	/**
+	 * Receives the number of operations on the priority queue of a Prim computation
+	 * @param heap the name of the priority queue
+	 * @param inserts the number of insert operations
+	 * @param decreaseKeys the number of decreaseKey operations
+	 * @param deleteMins the number of deleteMin operations
+	 */
+	public default void heapOperations(String heap, long inserts, long decreaseKeys, long deleteMins) { }
+
+	/**
+	 * Receives the measurements of the union find structure of a computation, reported
+	 * when the computation uses an InstrumentedUnionFind
+	 * @param algorithm the name of the algorithm
+	 * @param uf the instrumented union find structure, at the end of the computation
+	 */
+	public default void unionFind(String algorithm, InstrumentedUnionFind<?> uf) { }
+
+}
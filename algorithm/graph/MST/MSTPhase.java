@@ -0,0 +1,22 @@
+package algorithm.graph.MST;
+
+/**
+ * The phases of a Minimum Spanning Tree computation, reported by MSTRecorder
+ */
+public enum MSTPhase {
+
+	/** reading of the input (e.g. the edge file) */
+	LOAD,
+
+	/** construction of the data structures of the algorithm (graph, vertex indexes, edge arrays) */
+	BUILD,
+
+	/** sorting of the edges by weight */
+	SORT,
+
+	/** main loop of the algorithm (union find loop, Boruvka rounds, Prim visit) */
+	LOOP,
+
+	/** delivery of the result edges */
+	OUTPUT
+}
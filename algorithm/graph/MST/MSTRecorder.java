@@ -0,0 +1,155 @@
+package algorithm.graph.MST;
+
+import datastructure.unionfind.InstrumentedUnionFind;
+
+/**
+ * Entry point of the instrumentation of the Minimum Spanning Tree computations: the
+ * algorithms report their phases, Boruvka rounds, edge counts, heap operations and
+ * union find measurements here,
+ * and each report is committed as a JDK Flight Recorder event (see MSTEvents) and passed
+ * to the registered MSTMetrics, if any. The reports happen a few times for each
+ * computation and never inside the loops on the edges (the counters of the loops are
+ * local variables), so the instrumentation can stay enabled in production: when no
+ * recording is running and no MSTMetrics is registered, a report costs a couple of
+ * branches (the event objects do not escape and are removed by the JIT compiler)
+ */
+public final class MSTRecorder {
+
+	/** the registered metrics, null if none */
+	private static volatile MSTMetrics metrics;
+
+	/**
+	 * Not instantiable
+	 */
+	private MSTRecorder() { }
+
+	/**
+	 * Registers the receiver of the metrics, replacing the previous one
+	 * @param m the receiver of the metrics, or null to stop passing the metrics
+	 */
+	public static void setMetrics(MSTMetrics m) {
+		metrics = m;
+	}
+
+	/**
+	 * Returns the registered receiver of the metrics
+	 * @return the receiver of the metrics, or null if none
+	 */
+	public static MSTMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Returns the current time, to be passed to the report at the end of a phase
+	 * @return the current value of System.nanoTime
+	 */
+	public static long begin() {
+		return System.nanoTime();
+	}
+
+	/**
+	 * Reports the end of a phase of a computation
+	 * @param algorithm the name of the algorithm
+	 * @param phase the phase
+	 * @param begin the time of the beginning of the phase, returned by begin()
+	 * @param vertexes the number of vertexes of the input
+	 * @param edges the number of edges of the input
+	 */
+	public static void phase(String algorithm, MSTPhase phase, long begin, int vertexes, long edges) {
+		long nanos = System.nanoTime() - begin;
+		MSTEvents.PhaseEvent e = new MSTEvents.PhaseEvent();
+		if (e.isEnabled()) {
+			e.algorithm = algorithm;
+			e.phase = phase.name();
+			e.elapsed = nanos;
+			e.vertexes = vertexes;
+			e.edges = edges;
+			e.commit();
+		}
+		MSTMetrics m = metrics;
+		if (m != null) m.phase(algorithm, phase, nanos, vertexes, edges);
+	}
+
+	/**
+	 * Reports the end of a round of the Boruvka algorithm
+	 * @param round the number of the round, starting from 1
+	 * @param components the number of components left after the round
+	 * @param selected the number of edges selected in the round
+	 * @param begin the time of the beginning of the round, returned by begin()
+	 */
+	public static void boruvkaRound(int round, int components, int selected, long begin) {
+		long nanos = System.nanoTime() - begin;
+		MSTEvents.BoruvkaRoundEvent e = new MSTEvents.BoruvkaRoundEvent();
+		if (e.isEnabled()) {
+			e.round = round;
+			e.components = components;
+			e.selected = selected;
+			e.elapsed = nanos;
+			e.commit();
+		}
+		MSTMetrics m = metrics;
+		if (m != null) m.boruvkaRound(round, components, selected, nanos);
+	}
+
+	/**
+	 * Reports the number of edges examined and selected by a computation
+	 * @param algorithm the name of the algorithm
+	 * @param scanned the number of edges examined
+	 * @param selected the number of edges selected in the Minimum Spanning Tree
+	 */
+	public static void edges(String algorithm, long scanned, long selected) {
+		MSTEvents.EdgesEvent e = new MSTEvents.EdgesEvent();
+		if (e.isEnabled()) {
+			e.algorithm = algorithm;
+			e.scanned = scanned;
+			e.selected = selected;
+			e.commit();
+		}
+		MSTMetrics m = metrics;
+		if (m != null) m.edges(algorithm, scanned, selected);
+	}
+
+	/**
+	 * Reports the number of operations on the priority queue of a Prim computation
+	 * @param heap the name of the priority queue
+	 * @param inserts the number of insert operations
+	 * @param decreaseKeys the number of decreaseKey operations
+	 * @param deleteMins the number of deleteMin operations
+	 */
+	public static void heapOperations(String heap, long inserts, long decreaseKeys, long deleteMins) {
+		MSTEvents.HeapEvent e = new MSTEvents.HeapEvent();
+		if (e.isEnabled()) {
+			e.heap = heap;
+			e.inserts = inserts;
+			e.decreaseKeys = decreaseKeys;
+			e.deleteMins = deleteMins;
+			e.commit();
+		}
+		MSTMetrics m = metrics;
+		if (m != null) m.heapOperations(heap, inserts, decreaseKeys, deleteMins);
+	}
+
+	/**
+	 * Reports the measurements of the instrumented union find structure of a computation
+	 * @param algorithm the name of the algorithm
+	 * @param uf the instrumented union find structure, at the end of the computation
+	 */
+	public static void unionFind(String algorithm, InstrumentedUnionFind<?> uf) {
+		MSTEvents.UnionFindEvent e = new MSTEvents.UnionFindEvent();
+		if (e.isEnabled()) {
+			e.algorithm = algorithm;
+			e.structure = uf.structureName();
+			e.makeSets = uf.makeSetNum();
+			e.unions = uf.unionNum();
+			e.merges = uf.mergeNum();
+			e.finds = uf.findNum();
+			e.findPathTotal = uf.findPathTotal();
+			e.relabelTotal = uf.relabelTotal();
+			e.height = uf.height();
+			e.commit();
+		}
+		MSTMetrics m = metrics;
+		if (m != null) m.unionFind(algorithm, uf);
+	}
+
+}
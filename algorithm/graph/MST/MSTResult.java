@@ -0,0 +1,160 @@
+package algorithm.graph.MST;
+
+import datastructure.graph.*;
+import java.util.ArrayList;
+
+/**
+ * Compact result of a Minimum Spanning Tree computation, which is also the sink collecting
+ * it: the edges are stored as indexes of the vertexes of the input graph in the primitive
+ * arrays of an EdgeList (in the order in which they are received), and the total weight
+ * and the number of edges are accumulated as they arrive. No vertex is copied: the
+ * parent array of the spanning forest and the graph representing it are built only when
+ * they are requested (and then kept), e.g.
+ * <pre>
+ * MSTResult&lt;D&gt; r = new Kruskal&lt;D&gt;().MinimumSpanningTreeResult(graph);
+ * double cost = r.totalWeight();
+ * int[] parent = r.parents();
+ * </pre>
+ * The input graph must not be modified until the result has been used, since the
+ * indexes refer to its vertexes and toGraph reads their data
+ * @param <D> type of the data object in the graph vertexes
+ */
+public class MSTResult<D> extends MSTWeightAccumulator<D> {
+
+	/** the input graph */
+	protected Graph<D> graph;
+
+	/** the number of vertexes of the input graph */
+	protected int n;
+
+	/** the edges of the spanning forest, by index of their endpoints */
+	protected EdgeList edges;
+
+	/** the parent of each vertex in the spanning forest (null until requested) */
+	protected int[] parent;
+
+	/** the graph representing the spanning forest (null until requested) */
+	protected Graph<D> forest;
+
+	/**
+	 * Creates an empty result for a given input graph, with room for a spanning tree;
+	 * Cost: &Theta;(n), where n is the number of vertexes
+	 * @param graph the input graph
+	 */
+	public MSTResult(Graph<D> graph) {
+		super();
+		this.graph = graph;
+		this.n = graph.vertexNum();
+		this.edges = new EdgeList(Math.max(n - 1, 1));
+	}
+
+	/**
+	 * Adds an edge to the spanning forest; Amortized Cost: O(1)
+	 * @param source the first endpoint of the edge, a vertex of the input graph
+	 * @param dest the second endpoint of the edge, a vertex of the input graph
+	 * @param weight the weight of the edge
+	 */
+	@Override
+	public void addEdge(Vertex<D> source, Vertex<D> dest, double weight) {
+		super.addEdge(source, dest, weight);
+		edges.addEdge(source.getIndex(), dest.getIndex(), weight);
+		parent = null;
+		forest = null;
+	}
+
+	/**
+	 * Returns the number of vertexes of the input graph; Cost: O(1)
+	 * @return the number of vertexes
+	 */
+	public int vertexNum() {
+		return n;
+	}
+
+	/**
+	 * Returns the number of connected components of the input graph, i.e. the number of
+	 * trees of the spanning forest, once the computation is complete; Cost: O(1)
+	 * @return the number of components
+	 */
+	public int componentNum() {
+		return n - edgeNum;
+	}
+
+	/**
+	 * Returns the edges of the spanning forest, whose endpoints are the indexes of the
+	 * vertexes of the input graph (see Vertex.getIndex); Cost: O(1)
+	 * @return the list of the edges
+	 */
+	public EdgeList getEdges() {
+		return edges;
+	}
+
+	/**
+	 * Returns the parent of each vertex in the spanning forest, where each tree is rooted
+	 * at its vertex of smallest index; the array is built at the first call;
+	 * Cost: &Theta;(n) at the first call, O(1) afterwards
+	 * @return the index of the parent of each vertex, -1 for the roots
+	 */
+	public int[] parents() {
+		if (parent != null) return parent;
+		int k = edges.edgeNum();
+		int[] src = edges.getSources(), dst = edges.getDests();
+		//adiacenze dell'albero in righe di un array (righe di lunghezza pari al grado)
+		int[] start = new int[n + 1];
+		for (int j = 0; j < k; j++) {
+			start[src[j] + 1]++;
+			start[dst[j] + 1]++;
+		}
+		for (int i = 0; i < n; i++) start[i + 1] += start[i];
+		int[] next = new int[n];
+		System.arraycopy(start, 0, next, 0, n);
+		int[] adj = new int[2 * k];
+		for (int j = 0; j < k; j++) {
+			adj[next[src[j]]++] = dst[j];
+			adj[next[dst[j]]++] = src[j];
+		}
+		//visita in ampiezza di ogni albero a partire dal vertice di indice minimo
+		int[] p = new int[n];
+		boolean[] visited = new boolean[n];
+		int[] queue = next; //riusato come coda
+		for (int r = 0; r < n; r++) {
+			if (visited[r]) continue;
+			visited[r] = true;
+			p[r] = -1;
+			int head = 0, tail = 0;
+			queue[tail++] = r;
+			while (head < tail) {
+				int u = queue[head++];
+				for (int a = start[u]; a < start[u + 1]; a++) {
+					int v = adj[a];
+					if (!visited[v]) {
+						visited[v] = true;
+						p[v] = u;
+						queue[tail++] = v;
+					}
+				}
+			}
+		}
+		parent = p;
+		return parent;
+	}
+
+	/**
+	 * Returns the spanning forest represented as an undirected graph, with a vertex for
+	 * each vertex of the input graph (with the same data and in the same order) and each
+	 * edge stored once, as MST.MinimumSpanningTree returns it; the graph is built in
+	 * parallel by GraphALBuilder at the first call; Cost: &Theta;(n) expected work at
+	 * the first call, O(1) afterwards
+	 * @return the graph representing the spanning forest
+	 */
+	public Graph<D> toGraph() {
+		if (forest != null) return forest;
+		ArrayList<Vertex<D>> vert = graph.vertexes();
+		ArrayList<D> data = new ArrayList<D>(n);
+		for (int i = 0; i < n; i++)
+			data.add(vert.get(i).getData());
+		forest = GraphALBuilder.buildUndirected(data, edges.getSources(), edges.getDests(),
+			edges.getWeights(), edges.edgeNum());
+		return forest;
+	}
+
+}
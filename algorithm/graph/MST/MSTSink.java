@@ -0,0 +1,32 @@
+package algorithm.graph.MST;
+
+import datastructure.graph.*;
+
+/**
+ * Receiver of the edges of a Minimum Spanning Tree, passed by an MST implementation
+ * as soon as they are selected (each edge is passed once, in one direction)
+ * @param <D> type of the data object in the graph vertexes
+ */
+public interface MSTSink<D> {
+
+	/**
+	 * Receives an edge of the Minimum Spanning Tree
+	 * @param source the first endpoint of the edge, a vertex of the input graph
+	 * @param dest the second endpoint of the edge, a vertex of the input graph
+	 * @param weight the weight of the edge
+	 */
+	public void addEdge(Vertex<D> source, Vertex<D> dest, double weight);
+
+	/**
+	 * Returns a sink passing each edge to this sink and then to another one
+	 * @param next the other sink
+	 * @return the composed sink
+	 */
+	public default MSTSink<D> andThen(MSTSink<D> next) {
+		return (source, dest, weight) -> {
+			addEdge(source, dest, weight);
+			next.addEdge(source, dest, weight);
+		};
+	}
+
+}
@@ -0,0 +1,204 @@
+package algorithm.graph.MST;
+
+import datastructure.unionfind.InstrumentedUnionFind;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Implementation of MSTMetrics collecting the received metrics in memory: the total
+ * time and the number of executions of each phase of each algorithm, the edges scanned
+ * and selected by each algorithm, the heap operations of each heap, the rounds of
+ * the last Boruvka computation and the measurements of the instrumented union find
+ * structures (summed by algorithm and structure, except the growth of the maximum height,
+ * which is kept for the last computation). The methods are synchronized, so that an instance can
+ * be registered while several computations run at the same time, e.g.
+ * <pre>
+ * MSTStatistics stats = new MSTStatistics();
+ * MSTRecorder.setMetrics(stats);
+ * ...
+ * System.out.println(stats);
+ * </pre>
+ */
+public class MSTStatistics implements MSTMetrics {
+
+	/** total nanoseconds and executions of each phase, by "algorithm/phase" */
+	protected LinkedHashMap<String, long[]> phases = new LinkedHashMap<String, long[]>();
+
+	/** scanned and selected edges of each algorithm */
+	protected LinkedHashMap<String, long[]> edges = new LinkedHashMap<String, long[]>();
+
+	/** inserts, decreaseKeys and deleteMins of each heap */
+	protected LinkedHashMap<String, long[]> heaps = new LinkedHashMap<String, long[]>();
+
+	/** makeSets, unions, merges, finds, total find path, total relabels and maximum height, by "algorithm/structure" */
+	protected LinkedHashMap<String, long[]> unionFinds = new LinkedHashMap<String, long[]>();
+
+	/** the find path length and relabel histograms, by "algorithm/structure" */
+	protected LinkedHashMap<String, long[][]> histograms = new LinkedHashMap<String, long[][]>();
+
+	/** merges and new maximum height at each growth of the height in the last computation, by "algorithm/structure" */
+	protected LinkedHashMap<String, long[][]> heightHistories = new LinkedHashMap<String, long[][]>();
+
+	/** round, components, selected edges and nanoseconds of the rounds of the last Boruvka computation */
+	protected ArrayList<long[]> rounds = new ArrayList<long[]>();
+
+	/**
+	 * Adds the duration of a phase to the total of the phase
+	 * @param algorithm the name of the algorithm
+	 * @param phase the phase
+	 * @param nanos the duration of the phase, in nanoseconds
+	 * @param vertexes the number of vertexes of the input
+	 * @param edges the number of edges of the input
+	 */
+	public synchronized void phase(String algorithm, MSTPhase phase, long nanos, int vertexes, long edges) {
+		long[] p = phases.computeIfAbsent(algorithm + "/" + phase, k -> new long[2]);
+		p[0] += nanos;
+		p[1]++;
+	}
+
+	/**
+	 * Stores a round of the Boruvka algorithm (the first round of a computation
+	 * discards the rounds of the previous one)
+	 * @param round the number of the round, starting from 1
+	 * @param components the number of components left after the round
+	 * @param selected the number of edges selected in the round
+	 * @param nanos the duration of the round, in nanoseconds
+	 */
+	public synchronized void boruvkaRound(int round, int components, int selected, long nanos) {
+		if (round == 1) rounds.clear(); //nuova esecuzione
+		rounds.add(new long[] { round, components, selected, nanos });
+	}
+
+	/**
+	 * Adds the edges scanned and selected by a computation to the totals of the algorithm
+	 * @param algorithm the name of the algorithm
+	 * @param scanned the number of edges examined
+	 * @param selected the number of edges selected in the Minimum Spanning Tree
+	 */
+	public synchronized void edges(String algorithm, long scanned, long selected) {
+		long[] e = edges.computeIfAbsent(algorithm, k -> new long[2]);
+		e[0] += scanned;
+		e[1] += selected;
+	}
+
+	/**
+	 * Adds the operations of a Prim computation to the totals of the heap
+	 * @param heap the name of the priority queue
+	 * @param inserts the number of insert operations
+	 * @param decreaseKeys the number of decreaseKey operations
+	 * @param deleteMins the number of deleteMin operations
+	 */
+	public synchronized void heapOperations(String heap, long inserts, long decreaseKeys, long deleteMins) {
+		long[] h = heaps.computeIfAbsent(heap, k -> new long[3]);
+		h[0] += inserts;
+		h[1] += decreaseKeys;
+		h[2] += deleteMins;
+	}
+
+	/**
+	 * Adds the measurements of an instrumented union find structure to the totals of
+	 * the algorithm and the structure, and stores the growth of its maximum height
+	 * @param algorithm the name of the algorithm
+	 * @param uf the instrumented union find structure, at the end of the computation
+	 */
+	public synchronized void unionFind(String algorithm, InstrumentedUnionFind<?> uf) {
+		String key = algorithm + "/" + uf.structureName();
+		long[] u = unionFinds.computeIfAbsent(key, k -> new long[7]);
+		u[0] += uf.makeSetNum();
+		u[1] += uf.unionNum();
+		u[2] += uf.mergeNum();
+		u[3] += uf.findNum();
+		u[4] += uf.findPathTotal();
+		u[5] += uf.relabelTotal();
+		u[6] = Math.max(u[6], uf.height());
+		long[][] h = histograms.computeIfAbsent(key,
+			k -> new long[2][InstrumentedUnionFind.BUCKETS]);
+		long[] paths = uf.findPathHistogram(), relabels = uf.relabelHistogram();
+		for (int b = 0; b < InstrumentedUnionFind.BUCKETS; b++) {
+			h[0][b] += paths[b];
+			h[1][b] += relabels[b];
+		}
+		heightHistories.put(key, uf.heightHistory());
+	}
+
+	/**
+	 * Returns the total time spent in a phase of an algorithm
+	 * @param algorithm the name of the algorithm
+	 * @param phase the phase
+	 * @return the total time of the phase, in nanoseconds (0 if never reported)
+	 */
+	public synchronized long phaseNanos(String algorithm, MSTPhase phase) {
+		long[] p = phases.get(algorithm + "/" + phase);
+		return (p == null) ? 0 : p[0];
+	}
+
+	/**
+	 * Removes all the collected metrics
+	 */
+	public synchronized void clear() {
+		phases.clear();
+		edges.clear();
+		heaps.clear();
+		unionFinds.clear();
+		histograms.clear();
+		heightHistories.clear();
+		rounds.clear();
+	}
+
+	/**
+	 * Returns a textual report of the collected metrics
+	 * @return the report
+	 */
+	@Override
+	public synchronized String toString() {
+		StringBuilder sb = new StringBuilder();
+		for (Map.Entry<String, long[]> p : phases.entrySet())
+			sb.append(String.format(Locale.ROOT, "phase %s: %.3f ms in %d executions%n",
+				p.getKey(), p.getValue()[0] / 1e6, p.getValue()[1]));
+		for (Map.Entry<String, long[]> e : edges.entrySet())
+			sb.append(String.format(Locale.ROOT, "edges %s: %d scanned, %d selected%n",
+				e.getKey(), e.getValue()[0], e.getValue()[1]));
+		for (Map.Entry<String, long[]> h : heaps.entrySet())
+			sb.append(String.format(Locale.ROOT, "heap %s: %d inserts, %d decreaseKeys, %d deleteMins%n",
+				h.getKey(), h.getValue()[0], h.getValue()[1], h.getValue()[2]));
+		for (Map.Entry<String, long[]> u : unionFinds.entrySet()) {
+			long[] c = u.getValue();
+			sb.append(String.format(Locale.ROOT,
+				"union find %s: %d makeSets, %d unions (%d merges), %d finds, mean find path %.3f, %d relabels, height %d%n",
+				u.getKey(), c[0], c[1], c[2], c[3], (c[3] == 0) ? 0.0 : (double)c[4] / c[3], c[5], c[6]));
+			long[][] h = histograms.get(u.getKey());
+			appendHistogram(sb, "find path", h[0]);
+			appendHistogram(sb, "relabels", h[1]);
+			long[][] growth = heightHistories.get(u.getKey());
+			for (int i = 0; i < growth.length; i++)
+				sb.append(String.format(Locale.ROOT, (i == 0) ? "  height growth: %d at merge %d" : ", %d at merge %d",
+					growth[i][1], growth[i][0]));
+			if (growth.length > 0) sb.append(String.format("%n"));
+		}
+		for (long[] r : rounds)
+			sb.append(String.format(Locale.ROOT, "Boruvka round %d: %d components left, %d edges selected, %.3f ms%n",
+				r[0], r[1], r[2], r[3] / 1e6));
+		return sb.toString();
+	}
+
+	/**
+	 * Appends the non empty buckets of a histogram of an InstrumentedUnionFind
+	 * @param sb the report
+	 * @param name the name of the histogram
+	 * @param h the histogram
+	 */
+	private static void appendHistogram(StringBuilder sb, String name, long[] h) {
+		boolean empty = true;
+		for (int b = 0; b < h.length; b++) {
+			if (h[b] == 0) continue;
+			sb.append(empty ? "  " + name + ":" : ",");
+			sb.append(String.format(Locale.ROOT, " [%d,%d) %d",
+				InstrumentedUnionFind.bucketMin(b), Math.max(1, 2*InstrumentedUnionFind.bucketMin(b)), h[b]));
+			empty = false;
+		}
+		if (!empty) sb.append(String.format("%n"));
+	}
+
+}
@@ -0,0 +1,76 @@
+package algorithm.graph.MST;
+
+import datastructure.graph.*;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Sink writing the edges of a Minimum Spanning Tree as text, one edge per line in the
+ * format read by EdgeListReader (and by ProjectTest):
+ * <pre>
+ * N1   N2    W
+ * </pre>
+ * where N1 and N2 are the data of the endpoints. The lines are formatted by an
+ * EdgeListWriter directly into a byte buffer: integer data (Integer, Long, Short, Byte)
+ * and weights are written without creating any String, while other data are written
+ * through String.valueOf (only ASCII characters are supported)
+ * @param <D> type of the data object in the graph vertexes
+ */
+public class MSTTextWriter<D> implements MSTSink<D>, AutoCloseable {
+
+	/** the writer formatting the lines */
+	protected EdgeListWriter out;
+
+	/**
+	 * Creates a writer on a given stream
+	 * @param out the stream receiving the bytes
+	 */
+	public MSTTextWriter(OutputStream out) {
+		this.out = new EdgeListWriter(out);
+	}
+
+	/**
+	 * Writes an edge as a line; Cost: O(1)
+	 * @param source the first endpoint of the edge
+	 * @param dest the second endpoint of the edge
+	 * @param weight the weight of the edge
+	 * @throws java.io.UncheckedIOException if the stream cannot be written
+	 */
+	public void addEdge(Vertex<D> source, Vertex<D> dest, double weight) {
+		writeData(source.getData());
+		out.writeByte('\t');
+		writeData(dest.getData());
+		out.writeByte('\t');
+		out.writeDouble(weight);
+		out.writeByte('\n');
+	}
+
+	/**
+	 * Writes the data of a vertex
+	 * @param data the data
+	 * @throws java.io.UncheckedIOException if the stream cannot be written
+	 */
+	protected void writeData(D data) {
+		if (data instanceof Integer || data instanceof Long || data instanceof Short || data instanceof Byte)
+			out.writeInt(((Number) data).longValue());
+		else
+			out.writeAscii(String.valueOf(data));
+	}
+
+	/**
+	 * Writes the buffered lines and flushes the stream
+	 * @throws IOException if the stream cannot be written
+	 */
+	public void flush() throws IOException {
+		out.flush();
+	}
+
+	/**
+	 * Flushes the writer and closes the stream
+	 * @throws IOException if the stream cannot be written
+	 */
+	public void close() throws IOException {
+		out.close();
+	}
+
+}
@@ -0,0 +1,53 @@
+package algorithm.graph.MST;
+
+import datastructure.graph.*;
+
+/**
+ * Sink accumulating the number of edges and the total weight of a Minimum Spanning
+ * Tree, without storing the edges
+ * @param <D> type of the data object in the graph vertexes
+ */
+public class MSTWeightAccumulator<D> implements MSTSink<D> {
+
+	/** the number of received edges */
+	protected int edgeNum;
+
+	/** the total weight of the received edges */
+	protected double totalWeight;
+
+	/**
+	 * Creates an accumulator with no edge
+	 */
+	public MSTWeightAccumulator() {
+		edgeNum = 0;
+		totalWeight = 0;
+	}
+
+	/**
+	 * Adds the weight of an edge; Cost: O(1)
+	 * @param source the first endpoint of the edge
+	 * @param dest the second endpoint of the edge
+	 * @param weight the weight of the edge
+	 */
+	public void addEdge(Vertex<D> source, Vertex<D> dest, double weight) {
+		edgeNum++;
+		totalWeight += weight;
+	}
+
+	/**
+	 * Returns the number of received edges
+	 * @return the number of edges
+	 */
+	public int edgeNum() {
+		return edgeNum;
+	}
+
+	/**
+	 * Returns the total weight of the received edges
+	 * @return the total weight
+	 */
+	public double totalWeight() {
+		return totalWeight;
+	}
+
+}
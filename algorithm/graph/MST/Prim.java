@@ -1,70 +1,188 @@
 package algorithm.graph.MST;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import datastructure.priorityqueue.*;
 
 import datastructure.graph.*;
 
 /**
- * Generic graph computation of the Minimum Spanning Tree using the Prim algorithm
+ * Generic graph computation of the Minimum Spanning Tree using the Prim algorithm.
+ * The vertexes are numbered once, so that the state of the algorithm (distances, parents,
+ * flags) is kept in primitive arrays and the priority queue is an IndexedPriorityQueue
+ * with double keys and the vertex indexes as handles: the inner loop does not box any key
+ * nor allocate any node. The heap is chosen with a Heap strategy: a binary or d-ary heap,
+ * a pairing heap or a Fibonacci heap, or (AUTO) a heap chosen from the average degree of
+ * the graph. If the graph is not connected, a spanning tree of each connected component
+ * is computed. The edges of weight NaN follow all the others, as in Kruskal: they never
+ * enter the heap and are only used, once the heap is empty, to join the tree to a vertex
+ * that no other edge reaches
  * @param <D> type of the data object in the graph vertexes
- */	
+ */
 public class Prim<D> implements MST<D> {
-	
+
+	/**
+	 * The heaps that can be used as priority queue
+	 */
+	public enum Heap {
+		/** binary heap (IndexedDHeap with arity 2) */
+		BINARY,
+		/** d-ary heap (IndexedDHeap with the arity of the instance) */
+		DARY,
+		/** pairing heap (IndexedPairingHeap) */
+		PAIRING,
+		/** Fibonacci heap (IndexedFibonacciHeap) */
+		FIBONACCI,
+		/** a heap chosen from the average degree of the graph */
+		AUTO
+	}
+
+	/** the name of the algorithm in the reports to MSTRecorder */
+	protected static final String NAME = "Prim";
+
+	/** average degree from which AUTO uses a pairing heap */
+	protected static final int DENSE = 32;
+
+	/** the heap used as priority queue */
+	protected Heap heap;
+
+	/** the arity of the heap used as priority queue, if it is a d-ary heap */
+	protected int arity;
+
+	/**
+	 * Creates an instance choosing the heap from the average degree of the graph
+	 */
+	public Prim() {
+		this(Heap.AUTO);
+	}
+
+	/**
+	 * Creates an instance using a given heap (the d-ary heap has the default arity of
+	 * IndexedDHeap)
+	 * @param heap the heap used as priority queue
+	 */
+	public Prim(Heap heap) {
+		this.heap = heap;
+		this.arity = IndexedDHeap.DEFAULT_ARITY;
+	}
+
+	/**
+	 * Creates an instance using a d-ary heap with a given arity (e.g. 2, 4 or 8)
+	 * @param arity the number of children of each node of the heap, at least 2
+	 * @throws IllegalArgumentException if the arity is less than 2
+	 */
+	public Prim(int arity) {
+		if (arity < 2) throw new IllegalArgumentException("arity less than 2");
+		this.heap = Heap.DARY;
+		this.arity = arity;
+	}
+
+	/**
+	 * Creates the priority queue for a graph. AUTO uses a d-ary heap on sparse graphs,
+	 * where deleteMin (one for each vertex) and decreaseKey are comparably frequent, and a
+	 * pairing heap on dense graphs (average degree at least DENSE), where decreaseKey (up to
+	 * one for each edge) dominates and its O(1) cost pays off
+	 * @param n the number of vertexes of the graph
+	 * @param arcs the number of exiting edges scanned by the visit, i.e. the number of
+	 * edges of a directed graph and twice the number of edges of an undirected one, so
+	 * that arcs/n is the average degree however the graph stores its edges
+	 * @return the priority queue on the vertex indexes
+	 */
+	protected IndexedPriorityQueue newQueue(int n, long arcs) {
+		switch (heap) {
+			case BINARY: return new IndexedDHeap(n, 2);
+			case DARY: return new IndexedDHeap(n, arity);
+			case PAIRING: return new IndexedPairingHeap(n);
+			case FIBONACCI: return new IndexedFibonacciHeap(n);
+			default:
+				if (n > 0 && arcs / n >= DENSE) return new IndexedPairingHeap(n);
+				return new IndexedDHeap(n, arity);
+		}
+	}
+
 	/**
-	 * Computes a Minimum Spanning Tree of a passed graph using the Prim algorithm 
-	 * and returns the computed spanning tree represented as a graph; Cost: O(m log n),
+	 * Computes a Minimum Spanning Tree of a passed graph using the Prim algorithm,
+	 * passing its edges to a sink as the vertexes are extracted; Cost: O(m log n),
 	 * where n and m are respectively the number of vertexes and edges in the graph
 	 * @param graph the graph for which the Minimum Spanning Tree must be computed
-	 * @return the graph representing the computed Minimum Spanning Tree
-	 */	
-	public Graph<D> MinimumSpanningTree(Graph<D> graph) {
-		
+	 * @param sink the sink receiving the edges of the Minimum Spanning Tree
+	 */
+	public void MinimumSpanningTree(Graph<D> graph, MSTSink<D> sink) {
+
 		//strutture dati ausiliarie
-	GraphAL<D> g = new GraphAL<D>(); //grafo per rappresentare il MST da restituire alla fine
-	HashMap<Vertex<D>, Vertex<D>> newVert = new HashMap<Vertex<D>, Vertex<D>>(); //mappa tra vecchi e nuovi vert.
-	PriorityQueue<Double,Vertex<D>> pq = new DHeap<Double,Vertex<D>>(); //struttura priority queue pq
- //mappa da vertici a corrispondenti nodi in pq
- HashMap<Vertex<D>, PriorityQueueNode<Double,Vertex<D>>> pqnodes = new HashMap<Vertex<D>, PriorityQueueNode<Double,Vertex<D>>>();
- HashMap<Vertex<D>, Boolean> bool = new HashMap<Vertex<D>, Boolean>(); //flag che indica vertice già in MST
- HashMap<Vertex<D>, Double> distance = new HashMap<Vertex<D>, Double>() ; //distanza dei vertici dall'MST
- HashMap<Vertex<D>, Vertex<D>> parent = new HashMap<Vertex<D>, Vertex<D>>(); //parent dei vertici 
- ArrayList<Vertex<D>> vert = graph.vertexes(); //estrae i vertici dal grafo
- for (Vertex<D> v : vert) {
- newVert.put( v, g.addVertex(v.getData()) ); //nuovo vertice associato a v
- bool.put( v,false ) ;//inizializza flag
- distance.put( v,Double.POSITIVE_INFINITY ); //inizializza distanza
- }
-Vertex<D> s = vert.get(0); //sceglie vertice di partenza
- pqnodes.put( s, pq.insert(0.0, s) ) ;//inserisce il vertice di partenza nella pq
- 
- while (!pq.isEmpty()) {  //finché ci sono vertici nella coda
- Vertex<D> u = pq.findMin(); pq.deleteMin() ; //estrae da pq il vertice più vicino all'MST
- bool.put( u,true ); //setta il flag
- if (u != s) { //se il vert. non è la sorg. aggiunge arco da parent (due direz.)
- g.addEdge(newVert.get(parent.get(u)),newVert.get(u),distance.get(u));
- g.addEdge(newVert.get(u),newVert.get(parent.get(u)),distance.get(u));
- }
- for (Edge<D> e : graph.outEdges(u)) {
- Vertex<D> v = e.getDest() ;//sia v l'adiacenza da considerare
- if (distance.get(v) == Double.POSITIVE_INFINITY) { //v mai incontrato
- distance.put( v, e.getWeight() ); //setta distanza
- parent.put( v, u ); //indicare il parent momentaneo
- pqnodes.put( v, pq.insert(e.getWeight(), v) ); //inserisce v in pq
- }
- else if (distance.get(v) > e.getWeight() && !bool.get(v)) {
- //si è trovato un arco migliore per includere v nell'MST
- distance.put( v, e.getWeight() ); //aggiorna distanza
- parent.put( v, u ); //aggiorna parent
- pq.decreaseKey( e.getWeight(), pqnodes.get(v) ) ;//aggiorna key in pq 
-}
- }
- } 
-return g;		
-		
-		
-		
-}
+		long t = MSTRecorder.begin();
+		int m = graph.edgeNum();
+		ArrayList<Vertex<D>> vert = graph.vertexes(); //estrae i vertici dal grafo
+		int n = vert.size();
+		double[] distance = new double[n]; //distanza dei vertici dall'MST
+		int[] parent = new int[n]; //parent dei vertici
+		boolean[] inTree = new boolean[n]; //flag che indica vertice già in MST
+		int[] nanParent = new int[n]; //vertice dell'MST da cui un arco NaN raggiunge il vertice
+		Arrays.fill(nanParent, -1);
+		int[] pending = new int[n]; //vertici raggiunti da archi NaN, in attesa
+		int pendingNum = 0;
+		long arcs = graph.isDirected() ? m : 2L * m; //archi uscenti visitati (grado medio arcs/n)
+		IndexedPriorityQueue pq = newQueue(n, arcs); //struttura priority queue pq
+		EdgeCursor<D> adj = graph.edgeCursor(); //cursore sugli archi uscenti, senza copie
+		MSTRecorder.phase(NAME, MSTPhase.BUILD, t, n, m);
 
-}
+		t = MSTRecorder.begin();
+		long scanned = 0, inserts = 0, decreaseKeys = 0, deleteMins = 0; //contatori per MSTRecorder
+		int selected = 0;
+		for (int s = 0; s < n; s++) {
+			if (inTree[s]) continue; //s appartiene a una componente già visitata
+			distance[s] = 0.0;
+			parent[s] = -1;
+			pq.insert(s, 0.0); //inserisce il vertice di partenza nella pq
+			inserts++;
+			while (true) {
+				if (pq.isEmpty()) { //frammento completo: lo estende con un arco NaN, se esiste
+					while (pendingNum > 0 && inTree[pending[pendingNum - 1]]) pendingNum--;
+					if (pendingNum == 0) break; //componente completa
+					int v = pending[--pendingNum];
+					distance[v] = Double.NaN;
+					parent[v] = nanParent[v];
+					pq.insert(v, 0.0);
+					inserts++;
+				}
+				int u = pq.deleteMin(); //estrae da pq il vertice più vicino all'MST
+				deleteMins++;
+				inTree[u] = true; //setta il flag
+				if (parent[u] >= 0) { //se il vert. non è la sorg. passa al sink l'arco da parent
+					sink.addEdge(vert.get(parent[u]), vert.get(u), distance[u]);
+					selected++;
+				}
+				adj.reset(vert.get(u));
+				while (adj.next()) {
+					scanned++;
+					int v = adj.dest(); //sia v l'adiacenza da considerare
+					double w = adj.weight();
+					if (inTree[v]) continue;
+					if (Double.isNaN(w)) { //arco NaN: usato solo se v non e' raggiunto da altri archi
+						if (nanParent[v] < 0) {
+							nanParent[v] = u;
+							pending[pendingNum++] = v;
+						}
+						continue;
+					}
+					if (!pq.contains(v)) { //v mai incontrato
+						distance[v] = w; //setta distanza
+						parent[v] = u; //indica il parent momentaneo
+						pq.insert(v, w); //inserisce v in pq
+						inserts++;
+					}
+					else if (distance[v] > w) {
+						//si è trovato un arco migliore per includere v nell'MST
+						distance[v] = w; //aggiorna distanza
+						parent[v] = u; //aggiorna parent
+						pq.decreaseKey(v, w); //aggiorna key in pq
+						decreaseKeys++;
+					}
+				}
+			}
+		}
+		MSTRecorder.phase(NAME, MSTPhase.LOOP, t, n, m);
+		MSTRecorder.edges(NAME, scanned, selected);
+		MSTRecorder.heapOperations(pq.getClass().getSimpleName(), inserts, decreaseKeys, deleteMins);
+	}
 
+}
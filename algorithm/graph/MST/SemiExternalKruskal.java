@@ -0,0 +1,350 @@
+package algorithm.graph.MST;
+
+import algorithm.sorting.RadixSort;
+import datastructure.graph.*;
+import datastructure.priorityqueue.IndexedDHeap;
+import datastructure.unionfind.*;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+
+/**
+ * Semi-external computation of the Minimum Spanning Forest of a graph stored in an edge
+ * file (in the format read by EdgeListReader) that does not fit in memory: only O(n) state
+ * is kept in memory, where n is the number of vertexes, plus a buffer of a fixed number of
+ * edges. The computation is an external Kruskal:
+ * <ul>
+ * <li> the edge file is read in runs of at most <code>runEdges</code> edges; each run is
+ * sorted by weight with RadixSort and written to a binary temporary file;
+ * <li> if there are more than FAN_IN runs, groups of FAN_IN runs are merged into longer
+ * runs until at most FAN_IN runs remain;
+ * <li> the runs are merged with a k-way merge (an IndexedDHeap on the runs, keyed by the
+ * weight of their next edge) and the merged stream is scanned once with a QuickUnionArray
+ * over the vertex indexes, stopping as soon as the forest spans all the vertexes.
+ * </ul>
+ * The selected edges are passed to an EdgeSink (e.g. an EdgeListWriter), so that also the
+ * result does not need to be kept in memory. Each temporary file is deleted as soon as
+ * it has been merged (or when the computation fails), so that the disk holds at most the
+ * runs still to be merged
+ */
+public class SemiExternalKruskal {
+
+	/** the name of the algorithm in the reports to MSTRecorder */
+	protected static final String NAME = "SemiExternalKruskal";
+
+	/**
+	 * default number of edges of a run: about 160 MB of memory while sorting, i.e. 16
+	 * bytes per edge for the buffer and 24 for the keys, the ids and the scratch arrays
+	 * of RadixSort
+	 */
+	public static final int DEFAULT_RUN_EDGES = 1 << 22;
+
+	/** maximum number of runs merged at the same time */
+	protected static final int FAN_IN = 64;
+
+	/** size of the buffers of the temporary files */
+	protected static final int BUFFER = 1 << 16;
+
+	/** the directory of the temporary files (null for the default one) */
+	protected File tempDir;
+
+	/** the maximum number of edges of a run */
+	protected int runEdges;
+
+	/** the number of vertexes of the last computation (maximum index + 1) */
+	protected int vertexNum;
+
+	/** the number of edges read by the last computation */
+	protected long edgeNum;
+
+	/**
+	 * Creates an instance using runs of DEFAULT_RUN_EDGES edges in the default
+	 * temporary directory
+	 */
+	public SemiExternalKruskal() {
+		this(null, DEFAULT_RUN_EDGES);
+	}
+
+	/**
+	 * Creates an instance using runs of a given number of edges in a given directory
+	 * @param tempDir the directory of the temporary files (null for the default one)
+	 * @param runEdges the maximum number of edges of a run
+	 * @throws IllegalArgumentException if the number of edges of a run is not positive
+	 */
+	public SemiExternalKruskal(File tempDir, int runEdges) {
+		if (runEdges <= 0) throw new IllegalArgumentException("non positive number of edges of a run");
+		this.tempDir = tempDir;
+		this.runEdges = runEdges;
+	}
+
+	/**
+	 * Computes the Minimum Spanning Forest of the graph stored in an edge file, passing
+	 * its edges (once, from source to destination) to a sink in order of weight;
+	 * Cost: O(m log_F (m/r)) I/O and O(m log F + m &alpha;(n)) time, where m is the number of
+	 * edges, r the length of a run and F = FAN_IN
+	 * @param input the edge file
+	 * @param out the sink receiving the edges of the forest
+	 * @return the total weight of the forest
+	 * @throws IOException if a file cannot be read or written, or a line is malformed
+	 */
+	public double minimumSpanningForest(File input, EdgeSink out) throws IOException {
+		ArrayList<File> runs = new ArrayList<File>();
+		try {
+			long t = MSTRecorder.begin();
+			RunWriter writer = new RunWriter(runs);
+			try {
+				EdgeListReader.read(input, writer);
+				writer.flush();
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+			vertexNum = writer.maxVertex + 1;
+			edgeNum = writer.total;
+			MSTRecorder.phase(NAME, MSTPhase.LOAD, t, vertexNum, edgeNum);
+			t = MSTRecorder.begin();
+			while (runs.size() > FAN_IN) { //fusioni intermedie fino a FAN_IN run
+				ArrayList<File> group = new ArrayList<File>(runs.subList(0, FAN_IN));
+				try {
+					File merged = newRun();
+					runs.add(merged);
+					try (DataOutputStream dst = output(merged)) {
+						merge(group, (s, d, w) -> {
+							try {
+								dst.writeInt(s);
+								dst.writeInt(d);
+								dst.writeDouble(w);
+							} catch (IOException e) {
+								throw new UncheckedIOException(e);
+							}
+							return true;
+						});
+					} catch (UncheckedIOException e) {
+						throw e.getCause();
+					}
+				} finally { //le run fuse non servono piu', anche se la fusione fallisce
+					for (File f : group) f.delete();
+					runs.subList(0, FAN_IN).clear();
+				}
+			}
+			MSTRecorder.phase(NAME, MSTPhase.SORT, t, vertexNum, edgeNum);
+			t = MSTRecorder.begin();
+			IntUnionFind uf = new QuickUnionArray(vertexNum); //struttura union find sugli indici
+			double[] total = { 0 };
+			int[] selected = { 0 };
+			long[] scanned = { 0 };
+			merge(runs, (s, d, w) -> {
+				scanned[0]++;
+				if (uf.union(s, d)) { //set disgiunti quindi l'arco deve essere selezionato
+					out.addEdge(s, d, w);
+					total[0] += w;
+					selected[0]++;
+				}
+				return selected[0] < vertexNum - 1; //si ferma quando la foresta e' un albero
+			});
+			MSTRecorder.phase(NAME, MSTPhase.LOOP, t, vertexNum, edgeNum);
+			MSTRecorder.edges(NAME, scanned[0], selected[0]);
+			return total[0];
+		} finally {
+			for (File f : runs) f.delete();
+		}
+	}
+
+	/**
+	 * Returns the number of vertexes of the last computation, i.e. the maximum vertex
+	 * index found in the file plus one
+	 * @return the number of vertexes
+	 */
+	public int vertexNum() {
+		return vertexNum;
+	}
+
+	/**
+	 * Returns the number of edges read by the last computation
+	 * @return the number of edges
+	 */
+	public long edgeNum() {
+		return edgeNum;
+	}
+
+	/**
+	 * Receiver of the edges of a merge, in order of weight
+	 */
+	private interface MergeSink {
+
+		/**
+		 * Receives an edge
+		 * @param source the index of the source of the edge
+		 * @param dest the index of the destination of the edge
+		 * @param weight the weight of the edge
+		 * @return false to stop the merge
+		 */
+		boolean accept(int source, int dest, double weight);
+	}
+
+	/**
+	 * Merges sorted runs, passing their edges in order of weight to a sink
+	 * @param runs the run files
+	 * @param sink the sink receiving the edges
+	 * @throws IOException if a run cannot be read
+	 */
+	protected void merge(ArrayList<File> runs, MergeSink sink) throws IOException {
+		int k = runs.size();
+		DataInputStream[] in = new DataInputStream[k];
+		int[] src = new int[k], dst = new int[k]; //prossimo arco di ogni run
+		IndexedDHeap heap = new IndexedDHeap(k); //run ordinati per peso del prossimo arco
+		try {
+			for (int r = 0; r < k; r++) {
+				in[r] = new DataInputStream(new BufferedInputStream(new FileInputStream(runs.get(r)), BUFFER));
+				advance(in[r], r, src, dst, heap);
+			}
+			while (!heap.isEmpty()) {
+				double w = heap.minKey();
+				int r = heap.deleteMin();
+				if (!sink.accept(src[r], dst[r], w)) return;
+				advance(in[r], r, src, dst, heap);
+			}
+		} finally {
+			for (DataInputStream s : in)
+				if (s != null) s.close();
+		}
+	}
+
+	/**
+	 * Reads the next edge of a run and inserts the run in the heap, unless the run is over
+	 * @param in the stream of the run
+	 * @param r the index of the run
+	 * @param src the next source of each run
+	 * @param dst the next destination of each run
+	 * @param heap the heap of the runs
+	 * @throws IOException if the run cannot be read
+	 */
+	private static void advance(DataInputStream in, int r, int[] src, int[] dst, IndexedDHeap heap) throws IOException {
+		try {
+			src[r] = in.readInt();
+		} catch (EOFException e) {
+			return; //run terminato
+		}
+		dst[r] = in.readInt();
+		heap.insert(r, in.readDouble());
+	}
+
+	/**
+	 * Creates a new temporary run file; the caller deletes it once it has been merged
+	 * @return the run file
+	 * @throws IOException if the file cannot be created
+	 */
+	protected File newRun() throws IOException {
+		return File.createTempFile("mst-run", ".bin", tempDir);
+	}
+
+	/**
+	 * Opens a buffered stream writing a run file
+	 * @param f the run file
+	 * @return the stream
+	 * @throws IOException if the file cannot be opened
+	 */
+	private static DataOutputStream output(File f) throws IOException {
+		return new DataOutputStream(new BufferedOutputStream(new FileOutputStream(f), BUFFER));
+	}
+
+	/**
+	 * Sink collecting the edges of the input in a buffer, which is sorted and written
+	 * as a run when full
+	 */
+	private class RunWriter implements EdgeSink {
+
+		/** the buffered edges */
+		final int[] src, dst;
+		final double[] w;
+
+		/** the number of buffered edges */
+		int m;
+
+		/** the maximum vertex index read */
+		int maxVertex = -1;
+
+		/** the number of edges read */
+		long total;
+
+		/** the list of the written runs */
+		final ArrayList<File> runs;
+
+		RunWriter(ArrayList<File> runs) {
+			this.runs = runs;
+			int cap = runEdges;
+			src = new int[cap]; dst = new int[cap]; w = new double[cap];
+		}
+
+		public void addEdge(int source, int dest, double weight) {
+			if (m == src.length) flush();
+			src[m] = source;
+			dst[m] = dest;
+			w[m] = weight;
+			m++;
+			total++;
+			if (source > maxVertex) maxVertex = source;
+			if (dest > maxVertex) maxVertex = dest;
+		}
+
+		/**
+		 * Sorts the buffered edges by weight and writes them as a new run
+		 * @throws UncheckedIOException if the run cannot be written
+		 */
+		void flush() {
+			if (m == 0) return;
+			int[] order = RadixSort.sortByWeight(w, m);
+			try {
+				File f = newRun();
+				runs.add(f);
+				try (DataOutputStream out = output(f)) {
+					for (int k = 0; k < m; k++) {
+						int j = order[k];
+						out.writeInt(src[j]);
+						out.writeInt(dst[j]);
+						out.writeDouble(w[j]);
+					}
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			m = 0;
+		}
+	}
+
+	/*
+	 * Main per calcolare il MST di un file di archi piu' grande della memoria.
+	 * Uso: java algorithm.graph.MST.SemiExternalKruskal input [output [archi per run [dir temporanea]]]
+	 * Gli archi del MST vengono scritti in output (se indicato) nel formato letto da ProjectTest
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1) {
+			System.err.println("usage: SemiExternalKruskal input [output [run edges [temp dir]]]");
+			System.exit(1);
+		}
+		int run = (args.length > 2) ? Integer.parseInt(args[2]) : DEFAULT_RUN_EDGES;
+		File dir = (args.length > 3) ? new File(args[3]) : null;
+		SemiExternalKruskal mst = new SemiExternalKruskal(dir, run);
+		long start = System.currentTimeMillis();
+		double total;
+		if (args.length > 1) {
+			try (EdgeListWriter out = new EdgeListWriter(new FileOutputStream(args[1]))) {
+				total = mst.minimumSpanningForest(new File(args[0]), out);
+			}
+		} else {
+			total = mst.minimumSpanningForest(new File(args[0]), (s, d, w) -> { });
+		}
+		long elapsed = System.currentTimeMillis() - start;
+		System.out.println("Vertici: " + mst.vertexNum() + ", archi: " + mst.edgeNum());
+		System.out.println("Costo totale: " + total);
+		System.out.println("Elapsed time: " + elapsed / 1000.0 + " secondi");
+	}
+
+}
@@ -0,0 +1,452 @@
+package algorithm.graph.MST;
+
+import datastructure.graph.*;
+import datastructure.linkcut.LinkCutTree;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Minimum Spanning Forest of a stream of timestamped edges, restricted to the edges of a
+ * sliding window: edges are added in non decreasing order of time and the edges older
+ * than a given time can be expired, in batches. As in IncrementalMST, the forest is stored
+ * in a LinkCutTree in which each forest edge is a node between its two endpoints, with
+ * the weight of the edge as value, and it is maintained incrementally:
+ * <ul>
+ * <li> when an edge is added, the heaviest edge on the forest path between its endpoints
+ * is found with a path maximum query and, if the new edge is lighter, the two edges are
+ * swapped (cycle property);
+ * <li> every vertex keeps the list of the edges of the window incident to it; when a batch
+ * of edges expires, the expired edges that are not in the forest are simply removed from
+ * the lists, while the forest edges are cut one at a time. Cutting a forest edge splits
+ * its tree in two fragments and the only edges that can replace it are the ones crossing
+ * them: the two fragments are visited in parallel, one incident edge at a time, until the
+ * smaller one has been visited completely, and the lightest edge leaving it (if any) is
+ * linked in place of the cut edge (cut property).
+ * </ul>
+ * So the cost of an expiry depends on the expired edges and on the fragments they
+ * separate, not on the number of edges in the window: in particular, the edges of a vertex
+ * leaving the window are expired by visiting only that vertex. The endpoints of the edges
+ * are the vertexes of a given graph
+ * @param <D> type of the data object in the graph vertexes
+ */
+public class SlidingWindowMST<D> {
+
+	/**
+	 * An edge of the stream
+	 */
+	protected static class StreamEdge implements Comparable<StreamEdge> {
+
+		/** the indexes of the endpoints */
+		protected int u, v;
+
+		/** the weight of the edge */
+		protected double weight;
+
+		/** the time of the edge */
+		protected long time;
+
+		/** the arrival number of the edge (used to break ties among weights) */
+		protected long seq;
+
+		/** the node of the edge in the LinkCutTree, NONE if the edge is not in the forest */
+		protected int node = LinkCutTree.NONE;
+
+		/** the positions of the edge in the incidence lists of u and v */
+		protected int posU, posV;
+
+		/**
+		 * Constructs an edge of the stream
+		 * @param u the index of the first endpoint
+		 * @param v the index of the second endpoint
+		 * @param weight the weight of the edge
+		 * @param time the time of the edge
+		 * @param seq the arrival number of the edge
+		 */
+		protected StreamEdge(int u, int v, double weight, long time, long seq) {
+			this.u = u; this.v = v; this.weight = weight; this.time = time; this.seq = seq;
+		}
+
+		/**
+		 * Returns the endpoint of the edge different from a given one
+		 * @param x an endpoint of the edge
+		 * @return the other endpoint
+		 */
+		protected int other(int x) {
+			return x == u ? v : u;
+		}
+
+		/**
+		 * Compares two edges by weight and then by arrival number
+		 * @param e the edge to compare
+		 * @return a negative number, zero or a positive number if this edge precedes,
+		 * is equal to or follows <code>e</code>
+		 */
+		public int compareTo(StreamEdge e) {
+			int c = Double.compare(weight, e.weight);
+			return c != 0 ? c : Long.compare(seq, e.seq);
+		}
+	}
+
+	/** the vertexes, by index */
+	protected ArrayList<Vertex<D>> vertexes;
+
+	/** the edges of the window, in order of time */
+	protected ArrayDeque<StreamEdge> window;
+
+	/** the edges of the window incident to each vertex, by index (loops excluded) */
+	protected StreamEdge[][] incident;
+
+	/** the number of edges in the incidence list of each vertex */
+	protected int[] degree;
+
+	/** the two visits of the fragments of a cut edge */
+	protected FragmentVisit visitU, visitV;
+
+	/** the vertexes visited by the visits, marked with the stamp of the visit */
+	protected int[] mark;
+
+	/** the last stamp given to a visit */
+	protected int stamp;
+
+	/** the forest: nodes [0,n) are the vertexes, nodes [n,2n-1) the forest edges */
+	protected LinkCutTree forest;
+
+	/** the forest edges, by node - n (null for the free nodes) */
+	protected StreamEdge[] treeEdge;
+
+	/** the free edge nodes */
+	protected int[] free;
+
+	/** the number of free edge nodes */
+	protected int freeNum;
+
+	/** the number of vertexes */
+	protected int n;
+
+	/** the number of edges in the forest */
+	protected int treeEdges;
+
+	/** the total weight of the forest */
+	protected double totalWeight;
+
+	/** the number of edges received */
+	protected long seq;
+
+	/**
+	 * Creates an empty window whose edges have as endpoints the vertexes of a graph
+	 * (the edges of the graph are not considered)
+	 * @param graph the graph containing the vertexes
+	 */
+	public SlidingWindowMST(Graph<D> graph) {
+		vertexes = graph.vertexes();
+		n = vertexes.size();
+		int slots = Math.max(n - 1, 0); //una foresta ha al piu' n-1 archi
+		forest = new LinkCutTree(n + slots);
+		treeEdge = new StreamEdge[slots];
+		free = new int[slots];
+		for (int k = 0; k < slots; k++)
+			free[k] = n + slots - 1 - k;
+		freeNum = slots;
+		window = new ArrayDeque<StreamEdge>();
+		incident = new StreamEdge[n][];
+		degree = new int[n];
+		mark = new int[n];
+		stamp = 0;
+		visitU = new FragmentVisit();
+		visitV = new FragmentVisit();
+		treeEdges = 0;
+		totalWeight = 0;
+		seq = 0;
+	}
+
+	/**
+	 * Adds an edge to the window and updates the forest; Amortized Cost: O(log n), where n
+	 * is the number of vertexes
+	 * @param source the first endpoint of the edge
+	 * @param dest the second endpoint of the edge
+	 * @param weight the weight of the edge
+	 * @param time the time of the edge, not smaller than the time of the previous edge
+	 * @throws IllegalArgumentException if the time is smaller than the time of the previous edge
+	 */
+	public void addEdge(Vertex<D> source, Vertex<D> dest, double weight, long time) {
+		if (!window.isEmpty() && time < window.peekLast().time)
+			throw new IllegalArgumentException("edges must be added in order of time");
+		StreamEdge e = new StreamEdge(index(source), index(dest), weight, time, seq++);
+		window.addLast(e);
+		if (e.u == e.v) return; //cappio: mai nella foresta
+		attach(e);
+		int max = forest.pathMax(e.u, e.v);
+		if (max == LinkCutTree.NONE) { //estremi in alberi diversi: collega
+			link(e);
+		} else if (max >= n && e.compareTo(treeEdge[max - n]) < 0) { //scambia con l'arco piu' pesante del ciclo
+			cut(treeEdge[max - n]);
+			link(e);
+		}
+	}
+
+	/**
+	 * Expires all the edges with time smaller than a given time, updating the forest;
+	 * Amortized Cost: O(k + c log n + d), where k is the number of expired edges, c the
+	 * number of them in the forest, n the number of vertexes and d, for each expired forest
+	 * edge, the number of edges of the window incident to the vertexes of the smaller of the
+	 * two fragments it separates. In the worst case (a forest edge splitting its tree in two
+	 * halves) d is proportional to the edges of the tree, but a forest edge which cannot be
+	 * replaced because a vertex or a fragment is leaving the window only costs the edges
+	 * still incident to that fragment
+	 * @param time the time of the oldest edge to keep
+	 */
+	public void expire(long time) {
+		ArrayList<StreamEdge> cut = new ArrayList<StreamEdge>();
+		while (!window.isEmpty() && window.peekFirst().time < time) {
+			StreamEdge e = window.pollFirst();
+			if (e.u == e.v) continue;
+			if (e.node != LinkCutTree.NONE) cut.add(e);
+			else detach(e);
+		}
+		for (StreamEdge e : cut) { //gli archi scaduti non nella foresta sono gia' stati rimossi
+			detach(e);
+			cut(e);
+			StreamEdge r = replacement(e.u, e.v);
+			if (r != null) link(r);
+		}
+	}
+
+	/**
+	 * Returns the lightest edge of the window between the two fragments of the forest
+	 * containing two given vertexes, which have just been separated by a cut: the
+	 * fragments are visited in parallel until the smaller one is complete and its incident
+	 * edges are scanned; Cost: O(d), where d is the number of edges of the window incident
+	 * to the vertexes of the smaller fragment
+	 * @param u a vertex of the first fragment
+	 * @param v a vertex of the second fragment
+	 * @return the lightest edge between the two fragments, null if there is none
+	 */
+	protected StreamEdge replacement(int u, int v) {
+		if (stamp > Integer.MAX_VALUE - 2) { //evita che i timbri si ripetano
+			Arrays.fill(mark, 0);
+			stamp = 0;
+		}
+		visitU.start(u, ++stamp);
+		visitV.start(v, ++stamp);
+		while (visitU.step() && visitV.step()) ;
+		FragmentVisit done = visitU.finished() ? visitU : visitV;
+		StreamEdge best = null;
+		for (int i = 0; i < done.size; i++) {
+			int x = done.queue[i];
+			StreamEdge[] inc = incident[x];
+			for (int k = 0; k < degree[x]; k++) {
+				StreamEdge e = inc[k];
+				if (e.node == LinkCutTree.NONE && mark[e.other(x)] != done.stamp
+						&& (best == null || e.compareTo(best) < 0))
+					best = e; //arco che esce dal frammento: la sua altra estremita' e' nell'altro
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * A breadth first visit of a fragment of the forest, through the forest edges of the
+	 * incidence lists, that can be advanced one incident edge at a time
+	 */
+	protected class FragmentVisit {
+
+		/** the vertexes reached, in order of visit */
+		protected int[] queue = new int[Math.max(n, 1)];
+
+		/** the number of vertexes reached */
+		protected int size;
+
+		/** the position in the queue of the vertex being visited */
+		protected int head;
+
+		/** the position in the incidence list of the vertex being visited */
+		protected int pos;
+
+		/** the stamp marking the vertexes reached */
+		protected int stamp;
+
+		/**
+		 * Starts the visit from a vertex; Cost: O(1)
+		 * @param x the vertex
+		 * @param stamp the stamp marking the vertexes reached
+		 */
+		protected void start(int x, int stamp) {
+			this.stamp = stamp;
+			queue[0] = x;
+			mark[x] = stamp;
+			size = 1;
+			head = 0;
+			pos = 0;
+		}
+
+		/**
+		 * Returns true if the fragment has been visited completely; Cost: O(1)
+		 * @return true if the visit is finished
+		 */
+		protected boolean finished() {
+			return head == size;
+		}
+
+		/**
+		 * Examines the next incident edge of the visit; Cost: O(1) amortized
+		 * @return false if the visit is finished
+		 */
+		protected boolean step() {
+			while (head < size && pos == degree[queue[head]]) { //vertice esaurito
+				head++;
+				pos = 0;
+			}
+			if (head == size) return false;
+			int x = queue[head];
+			StreamEdge e = incident[x][pos++];
+			if (e.node != LinkCutTree.NONE) {
+				int y = e.other(x);
+				if (mark[y] != stamp) {
+					mark[y] = stamp;
+					queue[size++] = y;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Inserts an edge in the incidence lists of its endpoints; Amortized Cost: O(1)
+	 * @param e the edge to insert
+	 */
+	protected void attach(StreamEdge e) {
+		e.posU = append(e.u, e);
+		e.posV = append(e.v, e);
+	}
+
+	/**
+	 * Appends an edge to the incidence list of a vertex; Amortized Cost: O(1)
+	 * @param x the vertex
+	 * @param e the edge
+	 * @return the position of the edge in the list
+	 */
+	protected int append(int x, StreamEdge e) {
+		StreamEdge[] inc = incident[x];
+		if (inc == null)
+			inc = incident[x] = new StreamEdge[4];
+		else if (degree[x] == inc.length)
+			inc = incident[x] = Arrays.copyOf(inc, 2 * inc.length);
+		inc[degree[x]] = e;
+		return degree[x]++;
+	}
+
+	/**
+	 * Removes an edge from the incidence lists of its endpoints, moving the last edge of
+	 * each list in its place; Cost: O(1)
+	 * @param e the edge to remove
+	 */
+	protected void detach(StreamEdge e) {
+		remove(e.u, e.posU);
+		remove(e.v, e.posV);
+	}
+
+	/**
+	 * Removes the edge in a position of the incidence list of a vertex; Cost: O(1)
+	 * @param x the vertex
+	 * @param pos the position of the edge
+	 */
+	protected void remove(int x, int pos) {
+		StreamEdge[] inc = incident[x];
+		StreamEdge last = inc[--degree[x]];
+		inc[degree[x]] = null;
+		if (pos == degree[x]) return; //era l'ultimo arco della lista
+		inc[pos] = last;
+		if (last.u == x) last.posU = pos;
+		else last.posV = pos;
+	}
+
+	/**
+	 * Inserts an edge in the forest; Amortized Cost: O(log n)
+	 * @param e the edge to insert
+	 */
+	protected void link(StreamEdge e) {
+		int x = free[--freeNum];
+		e.node = x;
+		treeEdge[x - n] = e;
+		forest.setValue(x, e.weight);
+		forest.link(e.u, x);
+		forest.link(x, e.v);
+		treeEdges++;
+		totalWeight += e.weight;
+	}
+
+	/**
+	 * Removes an edge from the forest; Amortized Cost: O(log n)
+	 * @param e the edge to remove
+	 */
+	protected void cut(StreamEdge e) {
+		int x = e.node;
+		forest.cut(e.u, x);
+		forest.cut(x, e.v);
+		forest.setValue(x, Double.NEGATIVE_INFINITY);
+		treeEdge[x - n] = null;
+		free[freeNum++] = x;
+		e.node = LinkCutTree.NONE;
+		treeEdges--;
+		totalWeight -= e.weight;
+	}
+
+	/**
+	 * Returns the number of edges in the window; Cost: O(1)
+	 * @return the number of edges in the window
+	 */
+	public int windowEdgeNum() {
+		return window.size();
+	}
+
+	/**
+	 * Returns the number of edges in the spanning forest of the window; Cost: O(1)
+	 * @return the number of edges in the spanning forest
+	 */
+	public int treeEdgeNum() {
+		return treeEdges;
+	}
+
+	/**
+	 * Returns the total weight of the spanning forest of the window; Cost: O(1)
+	 * @return the total weight of the spanning forest
+	 */
+	public double totalWeight() {
+		return totalWeight;
+	}
+
+	/**
+	 * Returns the current Minimum Spanning Forest of the window represented as an
+	 * undirected graph, with each edge stored once as the MST implementations do;
+	 * Cost: &Theta;(n), where n is the number of vertexes
+	 * @return the graph representing the Minimum Spanning Forest of the window
+	 */
+	public Graph<D> spanningForest() {
+		Graph<D> g = new GraphAL<D>(false);
+		ArrayList<Vertex<D>> newVert = new ArrayList<Vertex<D>>(n);
+		for (int i = 0; i < n; i++)
+			newVert.add(g.addVertex(vertexes.get(i).getData()));
+		for (StreamEdge f : treeEdge)
+			if (f != null)
+				g.addEdge(newVert.get(f.u), newVert.get(f.v), f.weight);
+		return g;
+	}
+
+	/**
+	 * Returns the index of a vertex of the graph passed to the constructor: it is the
+	 * index of the vertex in the graph, unless vertexes have been removed from the graph
+	 * after the construction; Cost: O(1) (O(n) if the index of the vertex has changed)
+	 * @param v the vertex
+	 * @return the index of the vertex
+	 * @throws IllegalArgumentException if the vertex is not a vertex of the graph
+	 */
+	protected int index(Vertex<D> v) {
+		int i = v.getIndex();
+		if (i >= 0 && i < vertexes.size() && vertexes.get(i) == v) return i;
+		i = vertexes.indexOf(v); //il grafo e' cambiato dopo la costruzione
+		if (i < 0) throw new IllegalArgumentException("vertex not in the graph");
+		return i;
+	}
+
+}
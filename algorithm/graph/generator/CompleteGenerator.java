@@ -0,0 +1,40 @@
+package algorithm.graph.generator;
+
+import datastructure.graph.*;
+import java.util.SplittableRandom;
+
+/**
+ * Generator of complete graphs, where each of the n(n-1)/2 pairs of vertexes is
+ * connected by an edge with a weight uniformly distributed in [0,1).
+ * Each block contains a range of source vertexes
+ */
+public class CompleteGenerator extends GraphGenerator {
+
+	/** the number of source vertexes in a block */
+	protected int rowsPerBlock;
+
+	/**
+	 * Creates a generator of complete graphs
+	 * @param n the number of vertexes
+	 * @param seed the seed of the generator
+	 */
+	public CompleteGenerator(int n, long seed) {
+		super(n, seed);
+		rowsPerBlock = Math.max(1, (1 << 17) / Math.max(n, 1)); //circa 2^16 archi per blocco
+	}
+
+	@Override
+	protected long blocks() {
+		return (n + (long) rowsPerBlock - 1) / rowsPerBlock;
+	}
+
+	@Override
+	protected void generate(long block, SplittableRandom rnd, EdgeSink sink) {
+		int from = (int) (block * rowsPerBlock);
+		int to = (int) Math.min(n, from + (long) rowsPerBlock);
+		for (int u = from; u < to; u++)
+			for (int v = u + 1; v < n; v++)
+				sink.addEdge(u, v, rnd.nextDouble());
+	}
+
+}
@@ -0,0 +1,58 @@
+package algorithm.graph.generator;
+
+import datastructure.graph.*;
+import java.util.SplittableRandom;
+
+/**
+ * Generator of Erdos-Renyi random graphs G(n,p): each of the n(n-1)/2 pairs of
+ * vertexes is connected by an edge with probability p, with a weight uniformly
+ * distributed in [0,1). The neighbors of each vertex are drawn by skipping over the
+ * absent edges with a geometric distribution, so that the cost is proportional to
+ * the number of generated edges and not to the number of pairs.
+ * Each block contains a range of source vertexes
+ */
+public class ErdosRenyiGenerator extends GraphGenerator {
+
+	/** the probability of each edge */
+	protected double p;
+
+	/** the number of source vertexes in a block */
+	protected int rowsPerBlock;
+
+	/**
+	 * Creates a generator of Erdos-Renyi random graphs
+	 * @param n the number of vertexes
+	 * @param p the probability of each edge
+	 * @param seed the seed of the generator
+	 */
+	public ErdosRenyiGenerator(int n, double p, long seed) {
+		super(n, seed);
+		if (!(p >= 0 && p <= 1)) throw new IllegalArgumentException("p must be in [0,1]");
+		this.p = p;
+		double edgesPerRow = Math.max(1, p * n / 2); //circa 2^16 archi per blocco
+		rowsPerBlock = (int) Math.max(1, Math.min(n, (1 << 16) / edgesPerRow));
+	}
+
+	@Override
+	protected long blocks() {
+		return (n + (long) rowsPerBlock - 1) / rowsPerBlock;
+	}
+
+	@Override
+	protected void generate(long block, SplittableRandom rnd, EdgeSink sink) {
+		if (p == 0) return;
+		int from = (int) (block * rowsPerBlock);
+		int to = (int) Math.min(n, from + (long) rowsPerBlock);
+		double logq = Math.log1p(-p);
+		for (int u = from; u < to; u++) {
+			long v = u; //ultimo vicino estratto
+			while (true) {
+				double skip = (p == 1) ? 0 : Math.floor(Math.log1p(-rnd.nextDouble()) / logq); //salto geometrico
+				if (v + 1 + skip >= n) break;
+				v += 1 + (long) skip;
+				sink.addEdge(u, (int) v, rnd.nextDouble());
+			}
+		}
+	}
+
+}
@@ -0,0 +1,131 @@
+package algorithm.graph.generator;
+
+import datastructure.graph.*;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Generator of random geometric graphs: the vertexes are n points uniformly distributed
+ * in the unit square and two vertexes are connected if their distance is at most r,
+ * with their distance as weight. The points are bucketed in a grid of cells with side
+ * at least r, so that the neighbors of a point are searched only in the 9 cells around it.
+ * The points (two doubles per vertex) are kept in memory, while the edges are streamed.
+ * Each block contains the edges of a range of points in cell order, with the length of
+ * the range chosen from the expected degree so that a block holds about EDGES_PER_BLOCK
+ * edges whatever the radius
+ */
+public class GeometricGenerator extends GraphGenerator {
+
+	/** the number of points generated by a block of the preparation */
+	protected static final int POINTS_PER_BLOCK = 1 << 16;
+
+	/** the expected number of edges in a block of the generation */
+	protected static final long EDGES_PER_BLOCK = 1 << 20;
+
+	/** the connection radius */
+	protected double r;
+
+	/** the number of cells along each side of the square */
+	protected int k;
+
+	/** the number of points whose edges are generated by a block */
+	protected int pointsPerBlock;
+
+	/** the coordinates of the points */
+	protected double[] x, y;
+
+	/** the position of the first point of each cell in <code>cellPoints</code> */
+	protected int[] cellStart;
+
+	/** the points ordered by cell */
+	protected int[] cellPoints;
+
+	/**
+	 * Creates a generator of random geometric graphs
+	 * @param n the number of vertexes
+	 * @param r the connection radius
+	 * @param seed the seed of the generator
+	 */
+	public GeometricGenerator(int n, double r, long seed) {
+		super(n, seed);
+		if (!(r > 0)) throw new IllegalArgumentException("the radius must be positive");
+		this.r = r;
+		k = (int) Math.max(1, Math.min(Math.floor(1 / r), Math.ceil(Math.sqrt(n))));
+		//ogni punto genera in media meta' dei suoi vicini (al piu' n-1)
+		double degree = Math.min(Math.PI * r * r * n, n - 1) / 2;
+		pointsPerBlock = (int) Math.max(1, Math.min(Math.max(n, 1), EDGES_PER_BLOCK / Math.max(degree, 1)));
+	}
+
+	/**
+	 * Generates the points (in parallel if a pool is given) and buckets them in the cells
+	 * @param pool the pool generating the points, or null
+	 */
+	@Override
+	protected void prepare(ForkJoinPool pool) {
+		if (x != null) return;
+		x = new double[n];
+		y = new double[n];
+		int blocks = (n + POINTS_PER_BLOCK - 1) / POINTS_PER_BLOCK;
+		IntConsumer points = b -> {
+			SplittableRandom rnd = random(-1 - b); //generatori distinti da quelli degli archi
+			int to = (int) Math.min(n, (long) (b + 1) * POINTS_PER_BLOCK);
+			for (int i = b * POINTS_PER_BLOCK; i < to; i++) {
+				x[i] = rnd.nextDouble();
+				y[i] = rnd.nextDouble();
+			}
+		};
+		if (pool == null)
+			IntStream.range(0, blocks).forEach(points);
+		else
+			pool.submit(() -> IntStream.range(0, blocks).parallel().forEach(points)).join();
+
+		//ordina i punti per cella (counting sort)
+		cellStart = new int[k * k + 1];
+		for (int i = 0; i < n; i++) cellStart[cell(i) + 1]++;
+		for (int c = 0; c < k * k; c++) cellStart[c + 1] += cellStart[c];
+		int[] next = cellStart.clone();
+		cellPoints = new int[n];
+		for (int i = 0; i < n; i++) cellPoints[next[cell(i)]++] = i;
+	}
+
+	/**
+	 * Returns the cell containing a point
+	 * @param i the point
+	 * @return the index of the cell
+	 */
+	private int cell(int i) {
+		int cx = Math.min((int) (x[i] * k), k - 1);
+		int cy = Math.min((int) (y[i] * k), k - 1);
+		return cy * k + cx;
+	}
+
+	@Override
+	protected long blocks() {
+		return (n + pointsPerBlock - 1) / pointsPerBlock;
+	}
+
+	@Override
+	protected void generate(long block, SplittableRandom rnd, EdgeSink sink) {
+		int from = (int) (block * pointsPerBlock);
+		int to = (int) Math.min(n, (long) from + pointsPerBlock);
+		for (int p = from; p < to; p++) { //i punti del blocco, in ordine di cella
+			int i = cellPoints[p];
+			int cx = cell(i) % k, cy = cell(i) / k;
+			for (int ny = Math.max(cy - 1, 0); ny <= Math.min(cy + 1, k - 1); ny++) {
+				for (int nx = Math.max(cx - 1, 0); nx <= Math.min(cx + 1, k - 1); nx++) {
+					int c = ny * k + nx;
+					for (int q = cellStart[c]; q < cellStart[c + 1]; q++) {
+						int j = cellPoints[q];
+						if (j <= i) continue; //ogni coppia una sola volta
+						double dx = x[i] - x[j], dy = y[i] - y[j];
+						double d = Math.sqrt(dx * dx + dy * dy);
+						if (d <= r) sink.addEdge(i, j, d);
+					}
+				}
+			}
+		}
+	}
+
+}
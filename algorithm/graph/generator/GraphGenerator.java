@@ -0,0 +1,256 @@
+package algorithm.graph.generator;
+
+import datastructure.graph.*;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * Generator of random weighted undirected graphs, whose vertexes are the integers
+ * 0, 1, ..., n-1. The edges are produced in blocks: each block is generated by its own
+ * random generator, seeded from the seed of the generator and the index of the block,
+ * so that the produced graph only depends on the seed and is the same whether the
+ * blocks are generated sequentially or in parallel. When the blocks are generated in
+ * parallel only a bounded number of blocks is kept in memory and the blocks are passed
+ * to the destination (an EdgeSink, a file or a graph) in their order, so that graphs with
+ * billions of edges can be streamed without holding all their edges in memory.
+ * Each undirected edge is produced once, with the smaller endpoint as source
+ */
+public abstract class GraphGenerator {
+
+	/** the seed of the generator */
+	protected long seed;
+
+	/** the number of vertexes */
+	protected int n;
+
+	/**
+	 * Creates a generator
+	 * @param n the number of vertexes
+	 * @param seed the seed of the generator
+	 */
+	protected GraphGenerator(int n, long seed) {
+		if (n < 0) throw new IllegalArgumentException("negative number of vertexes");
+		this.n = n;
+		this.seed = seed;
+	}
+
+	/**
+	 * Returns the number of vertexes of the generated graphs
+	 * @return the number of vertexes
+	 */
+	public int vertexNum() {
+		return n;
+	}
+
+	/**
+	 * Returns the number of blocks in which the edges are generated
+	 * @return the number of blocks
+	 */
+	protected abstract long blocks();
+
+	/**
+	 * Generates the edges of a block
+	 * @param block the index of the block
+	 * @param rnd the random generator of the block
+	 * @param sink the sink receiving the edges
+	 */
+	protected abstract void generate(long block, SplittableRandom rnd, EdgeSink sink);
+
+	/**
+	 * Prepares the data shared by all the blocks (by default nothing is done);
+	 * it is called once before the blocks are generated
+	 * @param pool the pool that can be used to prepare the data in parallel
+	 */
+	protected void prepare(ForkJoinPool pool) { }
+
+	/**
+	 * Returns the random generator of a given block
+	 * @param block the index of the block
+	 * @return the random generator of the block
+	 */
+	protected SplittableRandom random(long block) {
+		return new SplittableRandom(seed ^ (0x9E3779B97F4A7C15L * (block + 1)));
+	}
+
+	/**
+	 * Generates the edges sequentially, passing them to a sink
+	 * @param sink the sink receiving the edges
+	 */
+	public void generate(EdgeSink sink) {
+		prepare(null);
+		for (long b = 0; b < blocks(); b++)
+			generate(b, random(b), sink);
+	}
+
+	/**
+	 * Generates the blocks of edges in parallel, passing the edges to a sink in the
+	 * same order of the sequential generation (the sink is only called by the
+	 * calling thread)
+	 * @param sink the sink receiving the edges
+	 * @param pool the pool generating the blocks
+	 */
+	public void generate(EdgeSink sink, ForkJoinPool pool) {
+		prepare(pool);
+		pipeline(pool, b -> {
+			EdgeList list = new EdgeList(1024);
+			generate(b, random(b), list);
+			return list;
+		}, list -> {
+			int[] s = list.getSources(), d = list.getDests();
+			double[] w = list.getWeights();
+			for (int j = 0; j < list.edgeNum(); j++)
+				sink.addEdge(s[j], d[j], w[j]);
+		});
+	}
+
+	/**
+	 * Generates the edges in parallel and writes them to a stream in the format
+	 * read by EdgeListReader (and by ProjectTest); the blocks are formatted in parallel
+	 * @param out the stream receiving the edges
+	 * @param pool the pool generating the blocks
+	 * @throws IOException if the stream cannot be written
+	 */
+	public void write(OutputStream out, ForkJoinPool pool) throws IOException {
+		prepare(pool);
+		try {
+			pipeline(pool, b -> {
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 16);
+				EdgeListWriter w = new EdgeListWriter(bytes);
+				generate(b, random(b), w);
+				try {
+					w.flush();
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				return bytes;
+			}, bytes -> {
+				try {
+					bytes.writeTo(out);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		out.flush();
+	}
+
+	/**
+	 * Generates the edges in parallel and writes them to a file in the format
+	 * read by EdgeListReader (and by ProjectTest)
+	 * @param file the file to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public void write(File file) throws IOException {
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file), 1 << 16)) {
+			write(out, ForkJoinPool.commonPool());
+		}
+	}
+
+	/**
+	 * Generates the edges in parallel into a list of edges
+	 * @return the list with the generated edges
+	 */
+	public EdgeList toEdgeList() {
+		EdgeList list = new EdgeList();
+		generate(list, ForkJoinPool.commonPool());
+		return list;
+	}
+
+	/**
+	 * Generates a graph implemented using adjacent lists, where the vertex i contains the
+	 * integer i and each edge is inserted in both directions as in ProjectTest
+	 * @return the generated graph
+	 */
+	public Graph<Integer> toGraph() {
+		Graph<Integer> g = new GraphAL<Integer>();
+		ArrayList<Vertex<Integer>> nodi = new ArrayList<Vertex<Integer>>(n);
+		for (int i = 0; i < n; i++)
+			nodi.add(g.addVertex(i));
+		generate((s, d, w) -> {
+			g.addEdge(nodi.get(s), nodi.get(d), w);
+			g.addEdge(nodi.get(d), nodi.get(s), w);
+		}, ForkJoinPool.commonPool());
+		return g;
+	}
+
+	/**
+	 * Produces the results of all the blocks in parallel and consumes them in order
+	 * in the calling thread, keeping at most a bounded number of blocks in flight
+	 * @param <T> type of the result of a block
+	 * @param pool the pool producing the blocks
+	 * @param produce the function producing the result of a block
+	 * @param consume the function consuming the results, in order of block
+	 */
+	protected <T> void pipeline(ForkJoinPool pool, LongFunction<T> produce, Consumer<T> consume) {
+		long blocks = blocks();
+		int inFlight = 4 * pool.getParallelism();
+		ArrayDeque<ForkJoinTask<T>> queue = new ArrayDeque<ForkJoinTask<T>>();
+		long next = 0;
+		while (next < blocks || !queue.isEmpty()) {
+			while (next < blocks && queue.size() < inFlight) { //mantiene pieni i thread
+				long b = next++;
+				queue.addLast(pool.submit(() -> produce.apply(b)));
+			}
+			consume.accept(queue.pollFirst().join()); //consuma i blocchi in ordine
+		}
+	}
+
+	/*
+	 * Main per generare un grafo e scriverlo in un file, con il formato letto da ProjectTest.
+	 * Uso: java algorithm.graph.generator.GraphGenerator famiglia parametri... seed file
+	 *   erdos-renyi n p
+	 *   grid2d righe colonne
+	 *   grid3d x y z
+	 *   rmat scala m
+	 *   complete n
+	 *   geometric n raggio
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 3) {
+			System.err.println("usage: GraphGenerator family params... seed file");
+			System.exit(1);
+		}
+		long seed = Long.parseLong(args[args.length - 2]);
+		File file = new File(args[args.length - 1]);
+		GraphGenerator gen;
+		switch (args[0]) {
+			case "erdos-renyi":
+				gen = new ErdosRenyiGenerator(Integer.parseInt(args[1]), Double.parseDouble(args[2]), seed);
+				break;
+			case "grid2d":
+				gen = new GridGenerator(new int[] { Integer.parseInt(args[1]), Integer.parseInt(args[2]) }, seed);
+				break;
+			case "grid3d":
+				gen = new GridGenerator(new int[] { Integer.parseInt(args[1]), Integer.parseInt(args[2]),
+					Integer.parseInt(args[3]) }, seed);
+				break;
+			case "rmat":
+				gen = new RMatGenerator(Integer.parseInt(args[1]), Long.parseLong(args[2]), seed);
+				break;
+			case "complete":
+				gen = new CompleteGenerator(Integer.parseInt(args[1]), seed);
+				break;
+			case "geometric":
+				gen = new GeometricGenerator(Integer.parseInt(args[1]), Double.parseDouble(args[2]), seed);
+				break;
+			default:
+				throw new IllegalArgumentException("unknown family " + args[0]);
+		}
+		gen.write(file);
+	}
+
+}
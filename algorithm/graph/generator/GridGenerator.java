@@ -0,0 +1,74 @@
+package algorithm.graph.generator;
+
+import datastructure.graph.*;
+import java.util.SplittableRandom;
+
+/**
+ * Generator of grid graphs in two or more dimensions: the vertexes are the points
+ * with integer coordinates of a box and each vertex is connected to the following one
+ * along each dimension, with a weight uniformly distributed in [0,1).
+ * The index of the vertex with coordinates (x<sub>0</sub>, x<sub>1</sub>, ...) is
+ * x<sub>0</sub> + d<sub>0</sub>(x<sub>1</sub> + d<sub>1</sub>(...)), where d<sub>i</sub>
+ * is the size of the dimension i. Each block contains a range of vertexes
+ */
+public class GridGenerator extends GraphGenerator {
+
+	/** the number of vertexes in a block */
+	protected static final int VERTEXES_PER_BLOCK = 1 << 15;
+
+	/** the sizes of the dimensions */
+	protected int[] dims;
+
+	/** the index distance between consecutive vertexes along each dimension */
+	protected int[] stride;
+
+	/**
+	 * Creates a generator of grid graphs
+	 * @param dims the sizes of the dimensions (e.g. rows and columns for a 2D grid)
+	 * @param seed the seed of the generator
+	 */
+	public GridGenerator(int[] dims, long seed) {
+		super(product(dims), seed);
+		this.dims = dims.clone();
+		stride = new int[dims.length];
+		int s = 1;
+		for (int i = 0; i < dims.length; i++) {
+			stride[i] = s;
+			s *= dims[i];
+		}
+	}
+
+	/**
+	 * Returns the number of vertexes of a grid
+	 * @param dims the sizes of the dimensions
+	 * @return the product of the sizes
+	 */
+	private static int product(int[] dims) {
+		long p = 1;
+		for (int d : dims) {
+			if (d <= 0) throw new IllegalArgumentException("dimensions must be positive");
+			p *= d;
+			if (p > Integer.MAX_VALUE) throw new IllegalArgumentException("too many vertexes");
+		}
+		return (int) p;
+	}
+
+	@Override
+	protected long blocks() {
+		return (n + (long) VERTEXES_PER_BLOCK - 1) / VERTEXES_PER_BLOCK;
+	}
+
+	@Override
+	protected void generate(long block, SplittableRandom rnd, EdgeSink sink) {
+		int from = (int) (block * VERTEXES_PER_BLOCK);
+		int to = (int) Math.min(n, from + (long) VERTEXES_PER_BLOCK);
+		for (int u = from; u < to; u++) {
+			for (int i = 0; i < dims.length; i++) {
+				int x = (u / stride[i]) % dims[i]; //coordinata di u lungo la dimensione i
+				if (x + 1 < dims[i])
+					sink.addEdge(u, u + stride[i], rnd.nextDouble());
+			}
+		}
+	}
+
+}
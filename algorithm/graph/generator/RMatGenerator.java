@@ -0,0 +1,93 @@
+package algorithm.graph.generator;
+
+import datastructure.graph.*;
+import java.util.SplittableRandom;
+
+/**
+ * Generator of R-MAT random graphs, whose degrees follow a power law: the adjacency
+ * matrix of 2<sup>scale</sup> vertexes is recursively divided in four quadrants, and each
+ * edge is placed by choosing at each level a quadrant with probabilities a, b, c and d.
+ * The edges have a weight uniformly distributed in [0,1); the self-loops are discarded,
+ * while multiple edges between the same vertexes are kept.
+ * Each block contains a fixed number of edges
+ */
+public class RMatGenerator extends GraphGenerator {
+
+	/** the number of edges in a block */
+	protected static final int EDGES_PER_BLOCK = 1 << 16;
+
+	/** the number of levels of the recursion */
+	protected int scale;
+
+	/** the number of edges to generate (including the discarded self-loops) */
+	protected long m;
+
+	/** the cumulative probabilities of the first three quadrants */
+	protected double a, ab, abc;
+
+	/**
+	 * Creates a generator of R-MAT random graphs with the usual probabilities
+	 * (0.57, 0.19, 0.19, 0.05)
+	 * @param scale the logarithm of the number of vertexes
+	 * @param m the number of edges to generate
+	 * @param seed the seed of the generator
+	 */
+	public RMatGenerator(int scale, long m, long seed) {
+		this(scale, m, 0.57, 0.19, 0.19, seed);
+	}
+
+	/**
+	 * Creates a generator of R-MAT random graphs
+	 * @param scale the logarithm of the number of vertexes (at most 30)
+	 * @param m the number of edges to generate
+	 * @param a the probability of the top left quadrant
+	 * @param b the probability of the top right quadrant
+	 * @param c the probability of the bottom left quadrant (d is 1-a-b-c)
+	 * @param seed the seed of the generator
+	 */
+	public RMatGenerator(int scale, long m, double a, double b, double c, long seed) {
+		super(checkScale(scale), seed);
+		if (a < 0 || b < 0 || c < 0 || a + b + c > 1)
+			throw new IllegalArgumentException("invalid quadrant probabilities");
+		this.scale = scale;
+		this.m = m;
+		this.a = a;
+		this.ab = a + b;
+		this.abc = a + b + c;
+	}
+
+	/**
+	 * Returns the number of vertexes for a given scale
+	 * @param scale the logarithm of the number of vertexes
+	 * @return the number of vertexes
+	 */
+	private static int checkScale(int scale) {
+		if (scale < 0 || scale > 30) throw new IllegalArgumentException("scale must be in [0,30]");
+		return 1 << scale;
+	}
+
+	@Override
+	protected long blocks() {
+		return (m + EDGES_PER_BLOCK - 1) / EDGES_PER_BLOCK;
+	}
+
+	@Override
+	protected void generate(long block, SplittableRandom rnd, EdgeSink sink) {
+		long count = Math.min(EDGES_PER_BLOCK, m - block * EDGES_PER_BLOCK);
+		for (long j = 0; j < count; j++) {
+			int u = 0, v = 0;
+			for (int level = 0; level < scale; level++) { //sceglie un quadrante per livello
+				double r = rnd.nextDouble();
+				u <<= 1;
+				v <<= 1;
+				if (r >= abc) { u |= 1; v |= 1; }
+				else if (r >= ab) u |= 1;
+				else if (r >= a) v |= 1;
+			}
+			double w = rnd.nextDouble();
+			if (u != v)
+				sink.addEdge(Math.min(u, v), Math.max(u, v), w);
+		}
+	}
+
+}
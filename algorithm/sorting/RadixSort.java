@@ -0,0 +1,151 @@
+package algorithm.sorting;
+
+import java.util.concurrent.ForkJoinPool;
+import util.ParallelRange;
+
+/**
+ * Sorting of edges by weight with an LSD radix sort over the IEEE-754 representation of
+ * the weights. Each weight is mapped to a 64 bit key whose unsigned order is the order of
+ * the doubles (the sign bit is flipped for the positive weights, all the bits for the
+ * negative ones), then the (key, edge id) pairs are sorted digit by digit, from the
+ * least significant one, with a stable counting sort per digit. The digits on which all
+ * the keys agree (e.g. the sign and most of the exponent bits) are skipped.
+ * The sort uses only primitive arrays and no comparison: its cost is &Theta;(m), and
+ * since it is stable, edges with the same weight keep the order of their ids.
+ * The histograms of all the digits are computed in a single pass over the keys, which
+ * can be executed in parallel on a ForkJoinPool
+ */
+public class RadixSort {
+
+	/** number of bits of a digit */
+	protected static final int BITS = 11;
+
+	/** number of values of a digit */
+	protected static final int RADIX = 1 << BITS;
+
+	/** number of digits of a key */
+	protected static final int DIGITS = (64 + BITS - 1) / BITS;
+
+	/** length under which the histograms are computed sequentially */
+	protected static final int PARALLEL = 1 << 16;
+
+	/**
+	 * Not instantiable
+	 */
+	private RadixSort() { }
+
+	/**
+	 * Returns the ids of the edges ordered by weight (edges with the same weight are
+	 * ordered by id); Cost: &Theta;(m), where m is the number of edges
+	 * @param weight the weights of the edges (the id of an edge is its position)
+	 * @param m the number of edges (the first m positions of the array are used)
+	 * @return the ids of the edges ordered by weight
+	 */
+	public static int[] sortByWeight(double[] weight, int m) {
+		return sortByWeight(weight, m, null);
+	}
+
+	/**
+	 * Returns the ids of the edges ordered by weight (edges with the same weight are
+	 * ordered by id), computing the histograms in parallel; Cost: &Theta;(m), where m
+	 * is the number of edges
+	 * @param weight the weights of the edges (the id of an edge is its position)
+	 * @param m the number of edges (the first m positions of the array are used)
+	 * @param pool the pool computing the histograms, or null to compute them sequentially
+	 * @return the ids of the edges ordered by weight
+	 */
+	public static int[] sortByWeight(double[] weight, int m, ForkJoinPool pool) {
+		long[] key = new long[m];
+		int[] id = new int[m];
+		for (int j = 0; j < m; j++) {
+			key[j] = key(weight[j]);
+			id[j] = j;
+		}
+		int[][] count = new int[DIGITS][RADIX];
+		if (pool == null || m <= PARALLEL)
+			histogram(key, 0, m, count);
+		else
+			parallelHistogram(key, m, count, pool);
+
+		long[] key2 = new long[m];
+		int[] id2 = new int[m];
+		int[] start = new int[RADIX];
+		for (int d = 0; d < DIGITS; d++) {
+			int[] c = count[d];
+			int shift = d * BITS;
+			if (m == 0 || c[digit(key[0], shift)] == m) continue; //cifra uguale per tutte le chiavi
+			for (int b = 0, sum = 0; b < RADIX; b++) { //posizioni iniziali dei bucket
+				start[b] = sum;
+				sum += c[b];
+			}
+			for (int j = 0; j < m; j++) { //distribuzione stabile
+				int p = start[digit(key[j], shift)]++;
+				key2[p] = key[j];
+				id2[p] = id[j];
+			}
+			long[] tk = key; key = key2; key2 = tk;
+			int[] ti = id; id = id2; id2 = ti;
+		}
+		return id;
+	}
+
+	/**
+	 * Maps a double to a long whose unsigned order is the order of the doubles
+	 * (all the NaNs are mapped after the positive infinity)
+	 * @param w the double
+	 * @return the key of the double
+	 */
+	public static long key(double w) {
+		long bits = Double.doubleToLongBits(w);
+		return (bits < 0) ? ~bits : bits ^ Long.MIN_VALUE;
+	}
+
+	/**
+	 * Extracts a digit from a key
+	 * @param key the key
+	 * @param shift the position of the first bit of the digit
+	 * @return the digit
+	 */
+	private static int digit(long key, int shift) {
+		return (int) (key >>> shift) & (RADIX - 1);
+	}
+
+	/**
+	 * Computes the histograms of all the digits of the keys in parallel: each chunk of
+	 * PARALLEL keys computes its own histograms, which are then summed
+	 * @param key the keys
+	 * @param m the number of keys
+	 * @param count the histograms, one per digit (initially zero)
+	 * @param pool the pool running the chunks
+	 */
+	private static void parallelHistogram(long[] key, int m, int[][] count, ForkJoinPool pool) {
+		int chunks = (int) (((long) m + PARALLEL - 1) / PARALLEL);
+		int[][][] part = new int[chunks][][];
+		ParallelRange.run(pool, 0, chunks, 1, (a, b) -> {
+			for (int c = a; c < b; c++) {
+				part[c] = new int[DIGITS][RADIX];
+				histogram(key, c * PARALLEL, (int) Math.min((long) (c + 1) * PARALLEL, m), part[c]);
+			}
+		});
+		for (int[][] p : part) //somma gli istogrammi dei blocchi
+			for (int d = 0; d < DIGITS; d++)
+				for (int b = 0; b < RADIX; b++)
+					count[d][b] += p[d][b];
+	}
+
+	/**
+	 * Adds to the histograms of all the digits the keys in [lo,hi)
+	 * @param key the keys
+	 * @param lo the first key (included)
+	 * @param hi the last key (excluded)
+	 * @param count the histograms, one per digit
+	 */
+	private static void histogram(long[] key, int lo, int hi, int[][] count) {
+		for (int j = lo; j < hi; j++) {
+			long k = key[j];
+			for (int d = 0; d < DIGITS; d++)
+				count[d][digit(k, d * BITS)]++;
+		}
+	}
+
+}
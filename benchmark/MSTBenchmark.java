@@ -0,0 +1,230 @@
+/* ************************************************
+ * Algorithms and Data Structures Project
+ *
+ * MSTBenchmark.java
+ *
+ * Benchmark of the Minimum Spanning Tree algorithms.
+ *
+ * Crosses the MST algorithms (Kruskal with each union find implementation,
+ * Prim and Boruvka) with random connected graphs of several sizes and densities.
+ * Each combination is measured after some warm-up iterations, so that the
+ * code has already been compiled by the JIT; each iteration calls the algorithm
+ * repeatedly for a fixed time. For each combination the benchmark reports:
+ *  - the throughput (operations per second, mean and standard deviation);
+ *  - the average time of an operation;
+ *  - the allocation rate (MB/s) and the bytes allocated per operation,
+ *    summed over all the threads of the JVM;
+ *  - the number and the time of the garbage collections.
+ *
+ * To compile:
+ * javac benchmark/MSTBenchmark.java
+ *
+ * To run (all the options are optional):
+ * java benchmark.MSTBenchmark [-n 1000,10000,100000] [-d 4,16,64]
+ *      [-w warmups] [-i iterations] [-t millis per iteration] [-a algorithm filter]
+ * *************************************************/
+
+package benchmark;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Supplier;
+import algorithm.graph.MST.*;
+import datastructure.graph.*;
+import datastructure.unionfind.*;
+
+
+public class MSTBenchmark {
+
+	/** the result of the last operation, to prevent dead code elimination */
+	static volatile int sink;
+
+	/** the bean used to measure the allocated bytes of the threads */
+	static final com.sun.management.ThreadMXBean THREADS =
+		(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	/**
+	 * An algorithm to measure
+	 */
+	static class Config {
+
+		/** the name of the algorithm */
+		final String name;
+
+		/** the factory of the algorithm */
+		final Supplier<MST<Integer>> mst;
+
+		Config(String name, Supplier<MST<Integer>> mst) {
+			this.name = name; this.mst = mst;
+		}
+	}
+
+	/*
+	 * Main per misurare gli algoritmi di MST su grafi casuali di diverse dimensioni
+	 * e densita'
+	 */
+	public static void main(String[] args) {
+
+		int[] sizes = { 1000, 10000, 100000 };
+		int[] degrees = { 4, 16, 64 };
+		int warmups = 3, iterations = 5;
+		long millis = 1000;
+		String filter = "";
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			switch (args[i]) {
+				case "-n": sizes = parseList(args[i+1]); break;
+				case "-d": degrees = parseList(args[i+1]); break;
+				case "-w": warmups = Integer.parseInt(args[i+1]); break;
+				case "-i": iterations = Integer.parseInt(args[i+1]); break;
+				case "-t": millis = Long.parseLong(args[i+1]); break;
+				case "-a": filter = args[i+1]; break;
+				default: throw new IllegalArgumentException("unknown option " + args[i]);
+			}
+		}
+
+		ArrayList<Config> configs = new ArrayList<Config>();
+		configs.add(new Config("Kruskal/QuickFind", () -> new Kruskal<Integer>(QuickFind::new)));
+		configs.add(new Config("Kruskal/QuickFindSize", () -> new Kruskal<Integer>(QuickFindSize::new)));
+		configs.add(new Config("Kruskal/QuickUnion", () -> new Kruskal<Integer>(QuickUnion::new)));
+		configs.add(new Config("Kruskal/QuickUnionRank", () -> new Kruskal<Integer>(QuickUnionRank::new)));
+		configs.add(new Config("Kruskal/QuickUnionArray", () -> new Kruskal<Integer>(QuickUnionArray::new)));
+		configs.add(new Config("Prim", () -> new Prim<Integer>()));
+		configs.add(new Config("Boruvka", () -> new Boruvka<Integer>()));
+
+		System.out.println("algorithm,n,m,ops/s,ops/s stdev,ms/op,alloc MB/s,alloc B/op,gc count,gc ms");
+		for (int n : sizes) {
+			for (int d : degrees) {
+				Graph<Integer> g = randomGraph(n, (long) n * d / 2, 42);
+				for (Config c : configs) {
+					if (!c.name.contains(filter)) continue;
+					measure(c, g, warmups, iterations, millis);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Measures an algorithm on a graph and prints a line with the results
+	 * @param c the algorithm
+	 * @param g the graph
+	 * @param warmups the number of warm-up iterations
+	 * @param iterations the number of measured iterations
+	 * @param millis the duration of an iteration
+	 */
+	static void measure(Config c, Graph<Integer> g, int warmups, int iterations, long millis) {
+		MST<Integer> mst = c.mst.get();
+		for (int i = 0; i < warmups; i++)
+			iteration(mst, g, millis);
+
+		double[] throughput = new double[iterations];
+		long ops = 0, nanos = 0, bytes = 0;
+		long gcCount = -gcCount(), gcTime = -gcTime();
+		for (int i = 0; i < iterations; i++) {
+			long b0 = allocatedBytes();
+			long[] r = iteration(mst, g, millis);
+			bytes += allocatedBytes() - b0;
+			ops += r[0];
+			nanos += r[1];
+			throughput[i] = r[0] * 1e9 / r[1];
+		}
+		gcCount += gcCount();
+		gcTime += gcTime();
+
+		double mean = 0, var = 0;
+		for (double t : throughput) mean += t / iterations;
+		for (double t : throughput) var += (t - mean) * (t - mean) / Math.max(iterations - 1, 1);
+		System.out.println(String.format(Locale.ROOT, "%s,%d,%d,%.3f,%.3f,%.3f,%.1f,%d,%d,%d",
+			c.name, g.vertexNum(), g.edgeNum() / 2, mean, Math.sqrt(var), nanos / 1e6 / ops,
+			bytes / 1048576.0 / (nanos / 1e9), bytes / ops, gcCount, gcTime));
+	}
+
+	/**
+	 * Runs an algorithm repeatedly for (at least) a given time
+	 * @param mst the algorithm
+	 * @param g the graph
+	 * @param millis the duration of the iteration
+	 * @return the number of operations and the elapsed nanoseconds
+	 */
+	static long[] iteration(MST<Integer> mst, Graph<Integer> g, long millis) {
+		long ops = 0;
+		long start = System.nanoTime(), end = start + millis * 1000000, now;
+		do {
+			sink = mst.MinimumSpanningTree(g).edgeNum();
+			ops++;
+		} while ((now = System.nanoTime()) < end);
+		return new long[] { ops, now - start };
+	}
+
+	/**
+	 * Returns the bytes allocated so far by all the live threads
+	 * @return the allocated bytes
+	 */
+	static long allocatedBytes() {
+		long sum = 0;
+		for (long b : THREADS.getThreadAllocatedBytes(THREADS.getAllThreadIds()))
+			if (b > 0) sum += b;
+		return sum;
+	}
+
+	/**
+	 * Returns the number of garbage collections so far
+	 * @return the number of garbage collections
+	 */
+	static long gcCount() {
+		long sum = 0;
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+			sum += Math.max(gc.getCollectionCount(), 0);
+		return sum;
+	}
+
+	/**
+	 * Returns the time spent in garbage collections so far, in milliseconds
+	 * @return the time spent in garbage collections
+	 */
+	static long gcTime() {
+		long sum = 0;
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+			sum += Math.max(gc.getCollectionTime(), 0);
+		return sum;
+	}
+
+	/**
+	 * Builds a random connected graph, with each edge inserted in both directions as
+	 * in ProjectTest: a random spanning tree plus random edges with uniform weights
+	 * @param n the number of vertexes
+	 * @param m the number of (undirected) edges, at least n-1
+	 * @param seed the seed of the random generator
+	 * @return the graph
+	 */
+	static Graph<Integer> randomGraph(int n, long m, long seed) {
+		Random rnd = new Random(seed);
+		Graph<Integer> g = new GraphAL<Integer>();
+		ArrayList<Vertex<Integer>> nodi = new ArrayList<Vertex<Integer>>(n);
+		for (int i = 0; i < n; i++)
+			nodi.add(g.addVertex(i));
+		for (long j = 0; j < Math.max(m, n - 1); j++) {
+			int s = (j < n - 1) ? (int) j + 1 : rnd.nextInt(n);
+			int d = (j < n - 1) ? rnd.nextInt((int) j + 1) : rnd.nextInt(n);
+			double p = rnd.nextDouble();
+			g.addEdge(nodi.get(s), nodi.get(d), p);
+			g.addEdge(nodi.get(d), nodi.get(s), p);
+		}
+		return g;
+	}
+
+	/**
+	 * Parses a comma separated list of integers
+	 * @param s the list
+	 * @return the integers
+	 */
+	static int[] parseList(String s) {
+		String[] p = s.split(",");
+		int[] r = new int[p.length];
+		for (int i = 0; i < p.length; i++) r[i] = Integer.parseInt(p[i].trim());
+		return r;
+	}
+
+}
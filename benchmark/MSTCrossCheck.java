@@ -0,0 +1,201 @@
+/* ************************************************
+ * Algorithms and Data Structures Project
+ *
+ * MSTCrossCheck.java
+ *
+ * Cross-check of the Minimum Spanning Tree algorithms.
+ *
+ * Runs every MST algorithm (Kruskal with each union find implementation,
+ * Filter-Kruskal, Prim with each heap, Boruvka and ContractionBoruvka) on the
+ * graphs of the generators in algorithm.graph.generator, with random weights,
+ * with weights rounded to a few values (many ties) and with about a fifth of the
+ * weights replaced by NaN (which follows all the other weights), and checks that
+ * each result is a spanning forest with the same number of edges, the same number
+ * of NaN edges and the same total weight of the other edges as the result of
+ * Kruskal. On the graphs with random weights, Filter-Kruskal
+ * must also never fall back to sorting a long range without filtering it.
+ * For each mismatch a line is printed and the program exits with status 1.
+ *
+ * To compile:
+ * javac benchmark/MSTCrossCheck.java
+ *
+ * To run (all the options are optional):
+ * java benchmark.MSTCrossCheck [-n vertexes] [-s seeds] [-a algorithm filter]
+ * *************************************************/
+
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.function.Supplier;
+import algorithm.graph.MST.*;
+import algorithm.graph.generator.*;
+import datastructure.graph.*;
+import datastructure.unionfind.*;
+
+
+public class MSTCrossCheck {
+
+	/**
+	 * An algorithm to check
+	 */
+	static class Config {
+
+		/** the name of the algorithm */
+		final String name;
+
+		/** the factory of the algorithm */
+		final Supplier<MST<Integer>> mst;
+
+		Config(String name, Supplier<MST<Integer>> mst) {
+			this.name = name; this.mst = mst;
+		}
+	}
+
+	/** the kinds of weights of the generated graphs */
+	static final String[] WEIGHTS = { "random", "ties", "nan" };
+
+	/**
+	 * Sink checking that the received edges form a forest, counting the edges of weight
+	 * NaN and summing the weights of the others
+	 */
+	static class ForestCheck implements MSTSink<Integer> {
+
+		/** the union find structure on the vertex indexes */
+		final QuickUnionArray sets;
+
+		/** the number of edges received */
+		int edges;
+
+		/** the number of edges of weight NaN received */
+		int nans;
+
+		/** the total weight of the edges received, except those of weight NaN */
+		double weight;
+
+		/** true if an edge closed a cycle */
+		boolean cycle;
+
+		ForestCheck(int n) {
+			sets = new QuickUnionArray(n);
+		}
+
+		public void addEdge(Vertex<Integer> source, Vertex<Integer> dest, double w) {
+			if (!sets.union(source.getIndex(), dest.getIndex())) cycle = true;
+			edges++;
+			if (Double.isNaN(w)) nans++;
+			else weight += w;
+		}
+	}
+
+	/*
+	 * Main per confrontare i risultati degli algoritmi di MST su grafi generati
+	 * con diversi seed
+	 */
+	public static void main(String[] args) {
+
+		int n = 2000, seeds = 3;
+		String filter = "";
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			switch (args[i]) {
+				case "-n": n = Integer.parseInt(args[i+1]); break;
+				case "-s": seeds = Integer.parseInt(args[i+1]); break;
+				case "-a": filter = args[i+1]; break;
+				default: throw new IllegalArgumentException("unknown option " + args[i]);
+			}
+		}
+
+		ArrayList<Config> configs = new ArrayList<Config>();
+		configs.add(new Config("Kruskal/QuickFind", () -> new Kruskal<Integer>(QuickFind::new)));
+		configs.add(new Config("Kruskal/QuickUnionRank", () -> new Kruskal<Integer>(QuickUnionRank::new)));
+		configs.add(new Config("Kruskal/QuickUnionArray", () -> new Kruskal<Integer>(QuickUnionArray::new)));
+		configs.add(new Config("FilterKruskal", () -> new FilterKruskal<Integer>()));
+		for (Prim.Heap h : Prim.Heap.values())
+			configs.add(new Config("Prim/" + h, () -> new Prim<Integer>(h)));
+		configs.add(new Config("Boruvka", () -> new Boruvka<Integer>()));
+		configs.add(new Config("ContractionBoruvka", () -> new ContractionBoruvka<Integer>()));
+
+		int side = (int) Math.sqrt(n);
+		int scale = 32 - Integer.numberOfLeadingZeros(Math.max(n - 1, 1));
+		int failures = 0, checks = 0;
+		for (long seed = 1; seed <= seeds; seed++) {
+			GraphGenerator[] gens = {
+				new ErdosRenyiGenerator(n, 8.0 / n, seed),
+				new GridGenerator(new int[] { side, side }, seed),
+				new RMatGenerator(scale, 4L * n, seed),
+				new GeometricGenerator(n, Math.sqrt(8.0 / (Math.PI * n)), seed),
+				new CompleteGenerator(Math.min(n, 300), seed)
+			};
+			for (GraphGenerator gen : gens) {
+				for (String weights : WEIGHTS) {
+					Graph<Integer> g = graph(gen, weights);
+					String shape = gen.getClass().getSimpleName() + "/" + weights + "/seed " + seed;
+					ForestCheck ref = run(new Kruskal<Integer>(), g);
+					for (Config c : configs) {
+						if (!c.name.contains(filter)) continue;
+						MST<Integer> mst = c.mst.get();
+						ForestCheck r = run(mst, g);
+						checks++;
+						double tol = 1e-9 * Math.max(1, Math.abs(ref.weight));
+						if (r.cycle || r.edges != ref.edges || r.nans != ref.nans || Math.abs(r.weight - ref.weight) > tol) {
+							failures++;
+							System.out.println(String.format(Locale.ROOT, "MISMATCH %s on %s: %d edges, %d NaN, weight %.9f%s (Kruskal: %d edges, %d NaN, weight %.9f)",
+								c.name, shape, r.edges, r.nans, r.weight, r.cycle ? ", cycle" : "", ref.edges, ref.nans, ref.weight));
+						}
+						//senza pesi uguali le partizioni di FilterKruskal progrediscono sempre
+						if (weights.equals("random") && mst instanceof FilterKruskal && ((FilterKruskal<Integer>) mst).fallbackNum() > 0) {
+							failures++;
+							System.out.println("FALLBACK " + c.name + " on " + shape + ": "
+								+ ((FilterKruskal<Integer>) mst).fallbackNum() + " ranges sorted without filtering");
+						}
+					}
+				}
+			}
+		}
+		System.out.println(checks + " checks, " + failures + " mismatches");
+		if (failures > 0) System.exit(1);
+	}
+
+	/**
+	 * Runs an algorithm on a graph, checking its result
+	 * @param mst the algorithm
+	 * @param g the graph
+	 * @return the check of the result
+	 */
+	static ForestCheck run(MST<Integer> mst, Graph<Integer> g) {
+		ForestCheck check = new ForestCheck(g.vertexNum());
+		mst.MinimumSpanningTree(g, check);
+		if (mst instanceof AutoCloseable) {
+			try {
+				((AutoCloseable) mst).close();
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		}
+		return check;
+	}
+
+	/**
+	 * Generates a graph, with each edge inserted in both directions as in ProjectTest
+	 * @param gen the generator
+	 * @param weights the kind of weights: "random" keeps the generated weights, "ties"
+	 * rounds them to tenths, so that many edges have the same weight, and "nan" replaces
+	 * the weights of about a fifth of the edges with NaN
+	 * @return the graph
+	 */
+	static Graph<Integer> graph(GraphGenerator gen, String weights) {
+		Graph<Integer> g = new GraphAL<Integer>();
+		ArrayList<Vertex<Integer>> nodi = new ArrayList<Vertex<Integer>>(gen.vertexNum());
+		for (int i = 0; i < gen.vertexNum(); i++)
+			nodi.add(g.addVertex(i));
+		gen.generate((s, d, w) -> {
+			double p = w;
+			if (weights.equals("ties")) p = Math.floor(w * 10) / 10;
+			else if (weights.equals("nan") && (s * 31L + d) % 5 == 0) p = Double.NaN;
+			g.addEdge(nodi.get(s), nodi.get(d), p);
+			g.addEdge(nodi.get(d), nodi.get(s), p);
+		});
+		return g;
+	}
+
+}
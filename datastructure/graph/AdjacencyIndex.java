@@ -0,0 +1,156 @@
+package datastructure.graph;
+
+import java.util.Arrays;
+
+/**
+ * Index of the exiting edges of a vertex of a GraphAL, mapping the identifier of each
+ * destination to the first edge towards it (in the order of the list of exiting edges)
+ * and to the number of edges towards it. The map uses open addressing with linear
+ * probing on primitive arrays, and deletions shift back the following entries instead
+ * of leaving tombstones. The table is kept at most half full, so that lookups,
+ * insertions and deletions cost O(1) expected time
+ * @param <D> type of the data object
+ */
+public class AdjacencyIndex<D> {
+
+	/** marker of an empty slot */
+	protected static final int EMPTY = -1;
+
+	/** the identifiers of the destinations, EMPTY for the empty slots */
+	protected int[] keys;
+
+	/** the first edge towards each destination */
+	protected EdgeAL<D>[] first;
+
+	/** the number of edges towards each destination */
+	protected int[] count;
+
+	/** the number of destinations in the index */
+	protected int size;
+
+	/**
+	 * Creates an index able to hold a given number of destinations without growing
+	 * @param expected the expected number of destinations
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public AdjacencyIndex(int expected) {
+		int cap = Integer.highestOneBit(Math.max(4, expected) * 2 - 1) << 1;
+		keys = new int[cap];
+		first = (EdgeAL<D>[]) new EdgeAL[cap];
+		count = new int[cap];
+		Arrays.fill(keys, EMPTY);
+	}
+
+	/**
+	 * Returns the first edge towards a destination; Cost: O(1) expected
+	 * @param id the identifier of the destination
+	 * @return the first edge towards the destination, null if there is none
+	 */
+	public EdgeAL<D> get(int id) {
+		int mask = keys.length - 1;
+		for (int i = slot(id, mask); keys[i] != EMPTY; i = (i + 1) & mask)
+			if (keys[i] == id) return first[i];
+		return null;
+	}
+
+	/**
+	 * Records a new edge, appended at the end of the list of exiting edges;
+	 * Cost: O(1) expected (amortized, because of the growth of the table)
+	 * @param edge the new edge
+	 */
+	public void add(EdgeAL<D> edge) {
+		if (2 * (size + 1) > keys.length) resize(keys.length * 2);
+		int id = edge.dest.id, mask = keys.length - 1;
+		int i = slot(id, mask);
+		while (keys[i] != EMPTY) {
+			if (keys[i] == id) { //arco parallelo: il primo resta quello in testa
+				count[i]++;
+				return;
+			}
+			i = (i + 1) & mask;
+		}
+		keys[i] = id;
+		first[i] = edge;
+		count[i] = 1;
+		size++;
+	}
+
+	/**
+	 * Forgets an edge which is going to be removed from the list of exiting edges (the
+	 * edge must still be linked to the following edges); Cost: O(1) expected, plus the
+	 * number of edges between the edge and the next parallel edge, if it is the first
+	 * edge towards its destination and it has parallel edges
+	 * @param edge the edge to remove
+	 */
+	public void remove(EdgeAL<D> edge) {
+		int id = edge.dest.id, mask = keys.length - 1;
+		int i = slot(id, mask);
+		while (keys[i] != id) {
+			if (keys[i] == EMPTY) return;
+			i = (i + 1) & mask;
+		}
+		if (--count[i] > 0) {
+			if (first[i] == edge) { //cerca il successivo arco parallelo
+				EdgeAL<D> e = edge.nextOut;
+				while (e.dest != edge.dest) e = e.nextOut;
+				first[i] = e;
+			}
+			return;
+		}
+		size--;
+		for (int j = (i + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+			int home = slot(keys[j], mask);
+			if (((j - home) & mask) >= ((j - i) & mask)) { //sposta indietro l'elemento
+				keys[i] = keys[j];
+				first[i] = first[j];
+				count[i] = count[j];
+				i = j;
+			}
+		}
+		keys[i] = EMPTY;
+		first[i] = null;
+	}
+
+	/**
+	 * Returns the number of destinations in the index
+	 * @return the number of distinct destinations
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Rebuilds the table with a given capacity
+	 * @param cap the new capacity (a power of 2)
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	protected void resize(int cap) {
+		int[] oldKeys = keys, oldCount = count;
+		EdgeAL<D>[] oldFirst = first;
+		keys = new int[cap];
+		first = (EdgeAL<D>[]) new EdgeAL[cap];
+		count = new int[cap];
+		Arrays.fill(keys, EMPTY);
+		int mask = cap - 1;
+		for (int j = 0; j < oldKeys.length; j++) {
+			if (oldKeys[j] == EMPTY) continue;
+			int i = slot(oldKeys[j], mask);
+			while (keys[i] != EMPTY) i = (i + 1) & mask;
+			keys[i] = oldKeys[j];
+			first[i] = oldFirst[j];
+			count[i] = oldCount[j];
+		}
+	}
+
+	/**
+	 * Returns the home slot of an identifier (multiplicative hashing)
+	 * @param id the identifier
+	 * @param mask the capacity of the table minus 1
+	 * @return the home slot of the identifier
+	 */
+	private static int slot(int id, int mask) {
+		int h = id * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & mask;
+	}
+
+}
@@ -25,4 +25,14 @@ public interface Edge<D> {
 	 */
 	public double getWeight();
 
+	/**
+	 * Returns the endpoint of the edge opposite to a given endpoint, i.e. the other
+	 * endpoint when the edge is reached from one of them in an undirected graph
+	 * @param v an endpoint of the edge
+	 * @return the destination if <code>v</code> is the source, otherwise the source
+	 */
+	public default Vertex<D> opposite(Vertex<D> v) {
+		return (getSource() == v) ? getDest() : getSource();
+	}
+
 }
@@ -4,7 +4,9 @@ package datastructure.graph;
  * Implementation of the edges of a generic Graph data structure composed of vertexes 
  * of type VertexAL containing <code>data</code> objects and implemented using
  * Adjacent Lists. An edge contains a source vertex, a destination vertex and possibly
- * a weight (the default weight is 0)
+ * a weight (the default weight is 0). The edge is also a node of two doubly linked lists:
+ * the list of the edges exiting from its source and the list of the edges entering its
+ * destination, so that it can be removed from both in constant time
  * @param <D> type of the data object
  */	
 public class EdgeAL<D> implements Edge<D> {
@@ -18,6 +20,12 @@ public class EdgeAL<D> implements Edge<D> {
 	/** the weight of the edge */
 	protected double weight;
 
+	/** the previous and next edges exiting from the source */
+	protected EdgeAL<D> prevOut, nextOut;
+
+	/** the previous and next edges entering the destination */
+	protected EdgeAL<D> prevIn, nextIn;
+
 	/**
 	 * Constructs an edge for a graph implemented using adjacent lists
 	 * @param source the source vertex
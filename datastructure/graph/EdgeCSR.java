@@ -0,0 +1,56 @@
+package datastructure.graph;
+
+/**
+ * Implementation of the edges of a generic Graph data structure composed of vertexes 
+ * of type VertexCSR containing <code>data</code> objects and implemented using
+ * Compressed Sparse Rows. The graph stores its edges in primitive arrays: an edge
+ * object is only a view of one position of such arrays, created when an edge 
+ * is requested through the Graph interface
+ * @param <D> type of the data object
+ */	
+public class EdgeCSR<D> implements Edge<D> {
+
+	/** the source vertex of the edge */
+	protected VertexCSR<D> source;
+
+	/** the destination vertex of the edge */
+	protected VertexCSR<D> dest;
+	
+	/** the weight of the edge */
+	protected double weight;
+
+	/**
+	 * Constructs an edge for a graph implemented using compressed sparse rows
+	 * @param source the source vertex
+   	 * @param dest the destination vertex 
+   	 * @param weight weight the edge weight 
+	 */		
+	public EdgeCSR(VertexCSR<D> source, VertexCSR<D> dest, double weight) {
+		this.source = source; this.dest = dest; this.weight = weight;
+	}
+	
+	/**
+	 * Returns the source vertex of the edge 
+	 * @return the source vertex of the edge 
+	 */
+	public Vertex<D> getSource() {
+		return this.source;
+	}
+
+	/**
+	 * Returns the destination vertex of the edge 
+	 * @return the destination vertex of the edge 
+	 */
+	public Vertex<D> getDest() {
+		return this.dest;
+	}
+	
+	/**
+	 * Returns the weight of the edge 
+	 * @return the weight of the edge 
+	 */
+	public double getWeight() {
+		return this.weight;
+	}
+	
+}
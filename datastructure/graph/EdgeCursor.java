@@ -0,0 +1,47 @@
+package datastructure.graph;
+
+/**
+ * Cursor on the edges exiting from a vertex of a Graph, exposing the index of the
+ * destination and the weight of each edge as primitive values, without creating Edge
+ * objects. A cursor is obtained once from the graph (Graph.edgeCursor) and reused for
+ * all the vertexes, e.g.
+ * <pre>
+ * EdgeCursor&lt;D&gt; c = graph.edgeCursor();
+ * c.reset(v);
+ * while (c.next()) {
+ *     int u = c.dest();
+ *     double w = c.weight();
+ *     ...
+ * }
+ * </pre>
+ * The graph must not be modified while a cursor is used
+ * @param <D> type of the data object
+ */
+public interface EdgeCursor<D> {
+
+	/**
+	 * Positions the cursor before the first edge exiting from a vertex; Cost: O(1)
+	 * @param v the vertex whose exiting edges must be visited
+	 */
+	public void reset(Vertex<D> v);
+
+	/**
+	 * Moves the cursor to the next edge; Cost: O(1)
+	 * @return true if there is a next edge, false if all the edges have been visited
+	 */
+	public boolean next();
+
+	/**
+	 * Returns the index (see Vertex.getIndex) of the destination of the current edge
+	 * (in an undirected graph, of the endpoint opposite to the vertex of the cursor)
+	 * @return the index of the destination of the current edge
+	 */
+	public int dest();
+
+	/**
+	 * Returns the weight of the current edge
+	 * @return the weight of the current edge
+	 */
+	public double weight();
+
+}
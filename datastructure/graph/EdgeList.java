@@ -0,0 +1,137 @@
+package datastructure.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * List of weighted edges stored in three primitive arrays (sources, destinations
+ * and weights), whose endpoints are integer indexes of vertexes. 
+ * The arrays grow by doubling their capacity, so that adding an edge has amortized
+ * cost O(1) and no object is created for each edge.
+ * The list can be passed directly to the construction of a graph
+ */
+public class EdgeList implements EdgeSink {
+
+	/** number of edges in the list */
+	protected int m;
+
+	/** maximum index of a vertex appearing in the list (-1 if the list is empty) */
+	protected int maxVertex;
+
+	/** indexes of the sources of the edges */
+	protected int[] src;
+
+	/** indexes of the destinations of the edges */
+	protected int[] dst;
+
+	/** weights of the edges */
+	protected double[] weight;
+
+	/**
+	 * Constructs an empty list of edges
+	 */
+	public EdgeList() {
+		this(16);
+	}
+
+	/**
+	 * Constructs an empty list of edges with a given initial capacity
+	 * @param capacity the initial capacity of the arrays
+	 */
+	public EdgeList(int capacity) {
+		capacity = Math.max(capacity, 1);
+		m = 0;
+		maxVertex = -1;
+		src = new int[capacity];
+		dst = new int[capacity];
+		weight = new double[capacity];
+	}
+
+	/**
+	 * Adds an edge at the end of the list; Amortized Cost: O(1)
+	 * @param source the index of the source of the edge
+	 * @param dest the index of the destination of the edge
+	 * @param w the weight of the edge
+	 */
+	public void addEdge(int source, int dest, double w) {
+		if (source < 0 || dest < 0)
+			throw new IllegalArgumentException("negative vertex index");
+		if (m == src.length) { //raddoppia la capacita'
+			int capacity = (int) Math.min(2L * src.length, Integer.MAX_VALUE - 8);
+			if (capacity == m)
+				throw new IllegalStateException("too many edges");
+			src = Arrays.copyOf(src, capacity);
+			dst = Arrays.copyOf(dst, capacity);
+			weight = Arrays.copyOf(weight, capacity);
+		}
+		src[m] = source;
+		dst[m] = dest;
+		weight[m] = w;
+		m++;
+		if (source > maxVertex) maxVertex = source;
+		if (dest > maxVertex) maxVertex = dest;
+	}
+
+	/**
+	 * Returns the number of edges in the list; Cost: O(1)
+	 * @return the number of edges
+	 */
+	public int edgeNum() { return m; }
+
+	/**
+	 * Returns the number of vertexes needed to contain all the endpoints of the edges,
+	 * i.e. the maximum index of a vertex plus one; Cost: O(1)
+	 * @return the number of vertexes
+	 */
+	public int vertexNum() { return maxVertex + 1; }
+
+	/**
+	 * Returns the array with the sources of the edges (only the first
+	 * <code>edgeNum()</code> positions are meaningful); Cost: O(1)
+	 * @return the array with the sources of the edges
+	 */
+	public int[] getSources() { return src; }
+
+	/**
+	 * Returns the array with the destinations of the edges (only the first
+	 * <code>edgeNum()</code> positions are meaningful); Cost: O(1)
+	 * @return the array with the destinations of the edges
+	 */
+	public int[] getDests() { return dst; }
+
+	/**
+	 * Returns the array with the weights of the edges (only the first
+	 * <code>edgeNum()</code> positions are meaningful); Cost: O(1)
+	 * @return the array with the weights of the edges
+	 */
+	public double[] getWeights() { return weight; }
+
+	/**
+	 * Builds a graph implemented using compressed sparse rows containing the edges
+	 * of the list, where the vertex of index i contains the integer i;
+	 * Cost: &Theta;(n+m), where n and m are respectively the number of vertexes and edges
+	 * @return the graph containing the edges of the list
+	 */
+	public GraphCSR<Integer> toGraphCSR() {
+		int n = vertexNum();
+		ArrayList<Integer> data = new ArrayList<Integer>(n);
+		for (int i = 0; i < n; i++) data.add(i);
+		return new GraphCSR<Integer>(data, src, dst, weight, m);
+	}
+
+	/**
+	 * Builds in parallel (see GraphALBuilder) a graph implemented using adjacent lists
+	 * containing the edges of the list, where the vertex of index i contains the integer i;
+	 * Cost: &Theta;(n+m) expected work, where n and m are respectively the number of
+	 * vertexes and edges
+	 * @param bothDirections true to add each edge in both the directions
+	 * @return the graph containing the edges of the list
+	 */
+	public GraphAL<Integer> toGraphAL(boolean bothDirections) {
+		int n = vertexNum();
+		ArrayList<Integer> data = new ArrayList<Integer>(n);
+		for (int i = 0; i < n; i++) data.add(i);
+		return GraphALBuilder.build(data, src, dst, weight, m, bothDirections);
+	}
+
+}
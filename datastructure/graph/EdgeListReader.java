@@ -0,0 +1,240 @@
+package datastructure.graph;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reader of files containing a list of weighted edges, one edge per line in the format
+ * <pre>
+ * N1   N2    W
+ * </pre>
+ * where N1 and N2 are the (non negative integer) indexes of the endpoints and W is the
+ * (double) weight, separated by tabs or spaces.
+ * The file is memory-mapped with FileChannel.map (in windows of at most 1 GB, so that
+ * files of any size can be read) and the bytes are parsed directly into primitive values:
+ * no String and no boxed number is created for each line. The parsed edges are passed to
+ * an EdgeSink, or collected in an EdgeList
+ */
+public class EdgeListReader {
+
+	/** maximum size of a mapped window of the file */
+	protected static final long WINDOW = 1L << 30;
+
+	/** exact powers of ten representable as doubles */
+	private static final double[] POW10 = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	/** the mapped window being parsed */
+	private MappedByteBuffer buf;
+
+	/** position of the next byte to parse in the window */
+	private int pos;
+
+	/** position following the last byte to parse in the window */
+	private int limit;
+
+	/** offset in the file of the window being parsed */
+	private long base;
+
+	/** typical length of a line, e.g. "123456\t654321\t0.123456\n", used to presize the list */
+	protected static final int BYTES_PER_EDGE = 20;
+
+	/**
+	 * Creates a reader; the reader is not thread-safe
+	 */
+	private EdgeListReader() { }
+
+	/**
+	 * Reads all the edges of a file into a list of edges, with an initial capacity
+	 * estimated from the size of the file assuming lines of BYTES_PER_EDGE bytes (the
+	 * list grows if the lines are shorter); Cost: &Theta;(L), where L is the length of the file
+	 * @param file the file to read
+	 * @return the list with the edges of the file
+	 * @throws IOException if the file cannot be read or a line is malformed
+	 */
+	public static EdgeList read(File file) throws IOException {
+		EdgeList edges = new EdgeList((int) Math.min(file.length() / BYTES_PER_EDGE + 16, Integer.MAX_VALUE - 8));
+		read(file, edges);
+		return edges;
+	}
+
+	/**
+	 * Reads all the edges of a file, passing them to a sink in the order they
+	 * appear in the file; Cost: &Theta;(L), where L is the length of the file
+	 * @param file the file to read
+	 * @param sink the sink receiving the edges
+	 * @throws IOException if the file cannot be read or a line is malformed
+	 */
+	public static void read(File file, EdgeSink sink) throws IOException {
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+			FileChannel ch = raf.getChannel()) {
+			new EdgeListReader().parse(ch, sink);
+		}
+	}
+
+	/**
+	 * Maps the file window by window and parses the complete lines of each window;
+	 * a window ends after its last newline, so that lines are never split
+	 * @param ch the channel of the file
+	 * @param sink the sink receiving the edges
+	 * @throws IOException if the file cannot be read or a line is malformed
+	 */
+	private void parse(FileChannel ch, EdgeSink sink) throws IOException {
+		long size = ch.size();
+		base = 0;
+		while (base < size) {
+			long len = Math.min(WINDOW, size - base);
+			buf = ch.map(FileChannel.MapMode.READ_ONLY, base, len);
+			limit = (int) len;
+			if (base + len < size) { //la finestra termina dopo l'ultimo a capo
+				while (limit > 0 && buf.get(limit - 1) != '\n') limit--;
+				if (limit == 0)
+					throw new IOException("line longer than " + WINDOW + " bytes at byte " + base);
+			}
+			pos = 0;
+			while (pos < limit) {
+				skipBlanks();
+				if (pos == limit) break;
+				byte b = buf.get(pos);
+				if (b == '\n' || b == '\r') { //riga vuota
+					pos++;
+					continue;
+				}
+				int s = parseInt();
+				skipBlanks();
+				int d = parseInt();
+				skipBlanks();
+				double w = parseDouble();
+				skipBlanks();
+				if (pos < limit && buf.get(pos) == '\r') pos++;
+				if (pos < limit && buf.get(pos++) != '\n')
+					throw malformed();
+				sink.addEdge(s, d, w);
+			}
+			base += limit;
+		}
+	}
+
+	/**
+	 * Skips the tabs and the spaces starting at the current position
+	 */
+	private void skipBlanks() {
+		while (pos < limit) {
+			byte b = buf.get(pos);
+			if (b != '\t' && b != ' ') return;
+			pos++;
+		}
+	}
+
+	/**
+	 * Parses a non negative integer starting at the current position
+	 * @return the parsed integer
+	 * @throws IOException if there is no integer or it overflows
+	 */
+	private int parseInt() throws IOException {
+		int start = pos;
+		long v = 0;
+		while (pos < limit) {
+			int c = buf.get(pos) - '0';
+			if (c < 0 || c > 9) break;
+			v = v * 10 + c;
+			if (v > Integer.MAX_VALUE) throw malformed();
+			pos++;
+		}
+		if (pos == start) throw malformed();
+		return (int) v;
+	}
+
+	/**
+	 * Parses a double starting at the current position. The decimal numbers whose
+	 * digits fit in 53 bits and with a small exponent (the usual case) are converted
+	 * exactly with a single multiplication or division by a power of ten; the other
+	 * numbers are converted by Double.parseDouble
+	 * @return the parsed double
+	 * @throws IOException if there is no number
+	 */
+	private double parseDouble() throws IOException {
+		int start = pos;
+		boolean neg = false;
+		if (pos < limit && (buf.get(pos) == '-' || buf.get(pos) == '+'))
+			neg = buf.get(pos++) == '-';
+		long mant = 0;
+		int digits = 0, exp = 0;
+		boolean any = false;
+		byte b = 0;
+		while (pos < limit && (b = buf.get(pos)) >= '0' && b <= '9') { //parte intera
+			if (digits > 0 || b != '0') {
+				if (digits < 18) { mant = mant * 10 + (b - '0'); digits++; }
+				else { exp++; digits++; }
+			}
+			any = true;
+			pos++;
+		}
+		if (pos < limit && buf.get(pos) == '.') { //parte frazionaria
+			pos++;
+			while (pos < limit && (b = buf.get(pos)) >= '0' && b <= '9') {
+				if (digits > 0 || b != '0') {
+					if (digits < 18) { mant = mant * 10 + (b - '0'); digits++; exp--; }
+					else digits++;
+				} else
+					exp--;
+				any = true;
+				pos++;
+			}
+		}
+		if (any && pos < limit && ((b = buf.get(pos)) == 'e' || b == 'E')) { //esponente
+			pos++;
+			boolean eneg = false;
+			if (pos < limit && (buf.get(pos) == '-' || buf.get(pos) == '+'))
+				eneg = buf.get(pos++) == '-';
+			int e = 0, estart = pos;
+			while (pos < limit && (b = buf.get(pos)) >= '0' && b <= '9') {
+				if (e < 100000) e = e * 10 + (b - '0');
+				pos++;
+			}
+			if (pos == estart) throw malformed();
+			exp += eneg ? -e : e;
+		}
+		if (!any) { //Infinity, NaN o numero malformato
+			while (pos < limit && (b = buf.get(pos)) != '\t' && b != ' ' && b != '\r' && b != '\n') pos++;
+			return slowDouble(start);
+		}
+		if (digits <= 18 && mant <= (1L << 53) && exp >= -22 && exp <= 22) {
+			//mantissa e potenza di dieci esatte: una sola operazione correttamente arrotondata
+			double v = (exp >= 0) ? mant * POW10[exp] : mant / POW10[-exp];
+			return neg ? -v : v;
+		}
+		return slowDouble(start);
+	}
+
+	/**
+	 * Converts the bytes from a given position to the current one with
+	 * Double.parseDouble (used only for the uncommon number formats)
+	 * @param start the position of the first byte of the number
+	 * @return the parsed double
+	 * @throws IOException if the bytes are not a number
+	 */
+	private double slowDouble(int start) throws IOException {
+		byte[] bytes = new byte[pos - start];
+		for (int i = 0; i < bytes.length; i++) bytes[i] = buf.get(start + i);
+		try {
+			return Double.parseDouble(new String(bytes, StandardCharsets.US_ASCII));
+		} catch (NumberFormatException e) {
+			throw malformed();
+		}
+	}
+
+	/**
+	 * Creates the exception signaling a malformed line at the current position
+	 * @return the exception
+	 */
+	private IOException malformed() {
+		return new IOException("malformed edge line at byte " + (base + pos));
+	}
+
+}
@@ -0,0 +1,161 @@
+package datastructure.graph;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writer of lists of weighted edges in the format read by EdgeListReader, one edge
+ * per line:
+ * <pre>
+ * N1   N2    W
+ * </pre>
+ * where the three columns are separated by tabs. The numbers are formatted directly
+ * into a byte buffer: the integers digit by digit and the doubles (in the same format
+ * of Double.toString) through a reused StringBuilder, so that no String is created
+ * for each edge. The writer is not thread-safe
+ */
+public class EdgeListWriter implements EdgeSink, AutoCloseable {
+
+	/** size of the byte buffer */
+	protected static final int BUFFER = 1 << 16;
+
+	/** the stream receiving the bytes */
+	protected OutputStream out;
+
+	/** the byte buffer */
+	protected byte[] buf;
+
+	/** the number of bytes in the buffer */
+	protected int len;
+
+	/** buffer reused to format the doubles */
+	protected StringBuilder digits;
+
+	/**
+	 * Creates a writer on a given stream
+	 * @param out the stream receiving the bytes
+	 */
+	public EdgeListWriter(OutputStream out) {
+		this.out = out;
+		buf = new byte[BUFFER];
+		len = 0;
+		digits = new StringBuilder(32);
+	}
+
+	/**
+	 * Writes an edge as a line; Cost: O(1)
+	 * @param source the index of the source of the edge
+	 * @param dest the index of the destination of the edge
+	 * @param weight the weight of the edge
+	 * @throws UncheckedIOException if the stream cannot be written
+	 */
+	public void addEdge(int source, int dest, double weight) {
+		writeInt(source);
+		writeByte('\t');
+		writeInt(dest);
+		writeByte('\t');
+		writeDouble(weight);
+		writeByte('\n');
+	}
+
+	/**
+	 * Writes a single byte
+	 * @param b the byte
+	 * @throws UncheckedIOException if the stream cannot be written
+	 */
+	public void writeByte(int b) {
+		if (len == buf.length) drain();
+		buf[len++] = (byte) b;
+	}
+
+	/**
+	 * Writes the decimal digits of a long integer, without creating a String
+	 * @param v the integer
+	 * @throws UncheckedIOException if the stream cannot be written
+	 */
+	public void writeInt(long v) {
+		if (len + 20 > buf.length) drain();
+		if (v < 0) {
+			if (v == Long.MIN_VALUE) { //non ha un opposto
+				writeAscii("-9223372036854775808");
+				return;
+			}
+			buf[len++] = '-';
+			v = -v;
+		}
+		int end = len + digitCount(v);
+		for (int p = end - 1; p >= len; p--) { //cifre da destra a sinistra
+			buf[p] = (byte) ('0' + (v % 10));
+			v /= 10;
+		}
+		len = end;
+	}
+
+	/**
+	 * Writes a double in the format of Double.toString, without creating a String
+	 * @param w the double
+	 * @throws UncheckedIOException if the stream cannot be written
+	 */
+	public void writeDouble(double w) {
+		digits.setLength(0);
+		digits.append(w);
+		if (len + digits.length() > buf.length) drain();
+		for (int i = 0; i < digits.length(); i++)
+			buf[len++] = (byte) digits.charAt(i);
+	}
+
+	/**
+	 * Writes the characters of an ASCII string
+	 * @param s the string
+	 * @throws UncheckedIOException if the stream cannot be written
+	 */
+	public void writeAscii(CharSequence s) {
+		for (int i = 0; i < s.length(); i++)
+			writeByte(s.charAt(i));
+	}
+
+	/**
+	 * Returns the number of decimal digits of a non negative long
+	 * @param v the long
+	 * @return the number of digits
+	 */
+	private static int digitCount(long v) {
+		int d = 1;
+		while (v >= 10) { v /= 10; d++; }
+		return d;
+	}
+
+	/**
+	 * Writes the content of the buffer to the stream and empties the buffer
+	 * @throws UncheckedIOException if the stream cannot be written
+	 */
+	protected void drain() {
+		try {
+			out.write(buf, 0, len);
+			len = 0;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Writes the content of the buffer and flushes the stream
+	 * @throws IOException if the stream cannot be written
+	 */
+	public void flush() throws IOException {
+		out.write(buf, 0, len);
+		len = 0;
+		out.flush();
+	}
+
+	/**
+	 * Flushes the writer and closes the stream
+	 * @throws IOException if the stream cannot be written
+	 */
+	public void close() throws IOException {
+		flush();
+		out.close();
+	}
+
+}
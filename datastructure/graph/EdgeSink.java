@@ -0,0 +1,19 @@
+package datastructure.graph;
+
+/**
+ * Interface for a consumer of weighted edges whose endpoints are identified by
+ * integer indexes, used to pass edges from a producer (e.g. a file reader) to a 
+ * consumer (e.g. a list of edges or a graph under construction) without creating
+ * an object for each edge
+ */
+public interface EdgeSink {
+
+	/**
+	 * Receives an edge
+	 * @param source the index of the source of the edge
+	 * @param dest the index of the destination of the edge
+	 * @param weight the weight of the edge
+	 */
+	public void addEdge(int source, int dest, double weight);
+
+}
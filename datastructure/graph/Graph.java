@@ -1,6 +1,7 @@
 package datastructure.graph;
 
 import java.util.ArrayList;
+import java.util.function.Consumer;
 
 /**
  * Interface for a generic Graph data structure composed of vertexes of type Vertex
@@ -21,6 +22,15 @@ public interface Graph<D> {
 	 */
 	public int edgeNum();
 
+	/**
+	 * Returns true if the graph is directed. In an undirected graph each edge is stored
+	 * once and it is visited from both its endpoints: the edges exiting from a vertex are
+	 * all its incident edges, and the other endpoint of an edge e reached from a
+	 * vertex v is <code>e.opposite(v)</code>
+	 * @return true if the graph is directed, false if it is undirected
+	 */
+	public boolean isDirected();
+
 	/**
 	 * Returns a list with the vertexes currently in the graph
 	 * @return the list with the vertexes currently in the graph
@@ -47,6 +57,40 @@ public interface Graph<D> {
 	 */		
 	public ArrayList<Edge<D>> outEdges(Vertex<D> v);
 
+	/**
+	 * Returns a view of the edges currently in the graph, which are visited without
+	 * copying them in a list (the graph must not be modified during the visit); an
+	 * implementation may still create an Edge object for each visited edge, while
+	 * edgeCursor never does
+	 * @return the view of the edges of the graph
+	 */
+	public Iterable<Edge<D>> edgesView();
+
+	/**
+	 * Returns a view of the edges exiting from a given vertex, which are visited without
+	 * copying them in a list (the graph must not be modified during the visit); an
+	 * implementation may still create an Edge object for each visited edge, while
+	 * edgeCursor never does
+     * @param v vertex
+	 * @return the view of the edges exiting from the vertex <code>v</code>
+	 */
+	public Iterable<Edge<D>> outEdgesView(Vertex<D> v);
+
+	/**
+	 * Performs an action on each edge exiting from a given vertex, without copying
+	 * the edges in a list (the graph must not be modified by the action)
+     * @param v vertex
+     * @param action the action to perform on each edge
+	 */
+	public void forEachOutEdge(Vertex<D> v, Consumer<? super Edge<D>> action);
+
+	/**
+	 * Returns a new cursor on the exiting edges of the vertexes of the graph, which
+	 * exposes the destination indexes and the weights without creating Edge objects
+	 * @return a new cursor, to be positioned on a vertex with reset
+	 */
+	public EdgeCursor<D> edgeCursor();
+
 	/**
 	 * Returns the edge connecting two given vertexes
 	 * (returns null if the edge does not exist)
@@ -2,10 +2,29 @@ package datastructure.graph;
 
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
 /**
  * Implementation using Adjacent Lists of a generic Graph data structure composed of vertexes 
- * of type VertexAL containing <code>data</code> objects and edges of type EdgeAL
+ * of type VertexAL containing <code>data</code> objects and edges of type EdgeAL.
+ * Each vertex has the list of its exiting edges and the list of its entering edges, both
+ * doubly linked through the edges, and knows its position in the list of vertexes:
+ * removing an edge costs O(1) and removing a vertex costs O(&delta;v), where &delta;v is
+ * the sum of its in degree and out degree.
+ * When the out degree of a vertex reaches a threshold, its exiting edges are also
+ * indexed by destination in an AdjacencyIndex, so that areAdjacent costs O(1) expected
+ * time for the high degree vertexes, while the low degree vertexes keep the plain lists
+ * (the index is dropped when the out degree falls below half of the threshold). The
+ * index is keyed by a stable identifier of the destination, which every vertex stores
+ * besides its position, so that removing a vertex never rekeys the indexes of its
+ * neighbours.
+ * The graph can also be undirected: each edge is then stored once, in the list of
+ * exiting edges of its source and in the list of entering edges of its destination as
+ * in the directed case, but both the lists of a vertex contain its incident edges, so
+ * that the exiting edges of a vertex are the edges of both its lists (a loop is visited
+ * twice) and its degree is the sum of their lengths. The edges of an undirected graph
+ * are not duplicated: edges() returns each of them once and edgeNum() counts them once
  * @param <D> type of the data object
  */
 public class GraphAL<D> implements Graph<D> {
@@ -19,13 +38,61 @@ public class GraphAL<D> implements Graph<D> {
 	/** list of vertexes */
 	protected ArrayList<VertexAL<D>> vertexes;
 
+	/** default out degree from which the exiting edges of a vertex are indexed */
+	public static final int DEFAULT_INDEX_DEGREE = 32;
+
+	/** out degree from which the exiting edges of a vertex are indexed */
+	protected int indexDegree;
+
+	/** identifier of the next vertex */
+	protected int nextId;
+
+	/** true if the graph is directed, false if each edge is shared by its endpoints */
+	protected boolean directed;
+
 	/**
-   	 * Constructs an empty graph implementated using adjacent lists; Cost: O(1)
+   	 * Constructs an empty directed graph implementated using adjacent lists, indexing
+   	 * the exiting edges of the vertexes with out degree at least DEFAULT_INDEX_DEGREE;
+   	 * Cost: O(1)
 	 */		
 	public GraphAL(){
+		this(true, DEFAULT_INDEX_DEGREE);
+	}
+
+	/**
+   	 * Constructs an empty directed graph implementated using adjacent lists; Cost: O(1)
+   	 * @param indexDegree out degree from which the exiting edges of a vertex are indexed
+   	 * by destination (Integer.MAX_VALUE to never index them)
+   	 * @throws IllegalArgumentException if the degree is not positive
+	 */		
+	public GraphAL(int indexDegree){
+		this(true, indexDegree);
+	}
+
+	/**
+   	 * Constructs an empty graph implementated using adjacent lists, indexing the exiting
+   	 * edges of the vertexes with out degree at least DEFAULT_INDEX_DEGREE; Cost: O(1)
+   	 * @param directed true for a directed graph, false for an undirected graph
+	 */		
+	public GraphAL(boolean directed){
+		this(directed, DEFAULT_INDEX_DEGREE);
+	}
+
+	/**
+   	 * Constructs an empty graph implementated using adjacent lists; Cost: O(1)
+   	 * @param directed true for a directed graph, false for an undirected graph
+   	 * @param indexDegree out degree from which the exiting edges of a vertex are indexed
+   	 * by destination (Integer.MAX_VALUE to never index them); in an undirected graph
+   	 * only the edges stored in the list of exiting edges count
+   	 * @throws IllegalArgumentException if the degree is not positive
+	 */		
+	public GraphAL(boolean directed, int indexDegree){
+		if (indexDegree <= 0) throw new IllegalArgumentException("non positive index degree");
 		n = 0;
 		m = 0;
 		vertexes = new ArrayList<VertexAL<D>>();
+		this.indexDegree = indexDegree;
+		this.directed = directed;
 	}
 	
 	/**
@@ -40,6 +107,12 @@ public class GraphAL<D> implements Graph<D> {
 	 */
 	public int edgeNum() { return m; }
 
+	/**
+	 * Returns true if the graph is directed; Cost: O(1)
+	 * @return true if the graph is directed, false if it is undirected
+	 */
+	public boolean isDirected() { return directed; }
+
 	/**
 	 * Returns a list with the vertexes currently in the graph; 
 	 * Cost: &Theta;(n), where n is the number of vertexes in the graph
@@ -54,47 +127,208 @@ public class GraphAL<D> implements Graph<D> {
 	}
 	
 	/**
-	 * Returns a list with the edges currently in the graph; 
-	 * Cost &Theta;(m), where m is the number of edges in the graph
+	 * Returns a list with the edges currently in the graph (once each, also if the graph
+	 * is undirected); Cost &Theta;(m), where m is the number of edges in the graph
 	 * @return the list with the edges currently in the graph
 	 */	
 	public ArrayList<Edge<D>> edges() {
 		ArrayList<Edge<D>> edges = new ArrayList<Edge<D>>();
 		for (int i = 0; i < n; i++) {
-			for(EdgeAL<D> edge : vertexes.get(i).adjac)
+			for(EdgeAL<D> edge = vertexes.get(i).firstOut; edge != null; edge = edge.nextOut)
 				edges.add(edge);
 		}		
 		return edges;  
 	}
 
 	/**
-	 * Returns the out degree of a vertex; Cost: O(1)
+	 * Returns the out degree of a vertex (its degree, if the graph is undirected); Cost: O(1)
      * @param v vertex
 	 * @return the out degree of the vertex <code>v</code>
 	 */	
 	public int outDegree(Vertex<D> v) {
 		VertexAL<D> V=(VertexAL<D>) v;
-		return V.adjac.size();
+		return directed ? V.outDegree : V.outDegree + V.inDegree;
+	}
+
+	/**
+	 * Returns the in degree of a vertex (its degree, if the graph is undirected); Cost: O(1)
+     * @param v vertex
+	 * @return the in degree of the vertex <code>v</code>
+	 */	
+	public int inDegree(Vertex<D> v) {
+		VertexAL<D> V=(VertexAL<D>) v;
+		return directed ? V.inDegree : V.outDegree + V.inDegree;
 	}
 	
 	/**
-	 * Returns a list with the edges currently exiting from a given vertex; 
-	 * Cost: O(&delta;v), where  &delta;v is the out degree of v
+	 * Returns a list with the edges currently exiting from a given vertex (its incident
+	 * edges, if the graph is undirected); Cost: O(&delta;v), where  &delta;v is the out
+	 * degree of v
      * @param v vertex
 	 * @return the list of edges exiting from the vertex <code>v</code>
 	 */	
 	public ArrayList<Edge<D>> outEdges(Vertex<D> v) {
 		ArrayList<Edge<D>> edges = new ArrayList<Edge<D>>();
 		VertexAL<D> V=(VertexAL<D>) v;
-		for(EdgeAL<D> edge : V.adjac)
+		for(EdgeAL<D> edge = V.firstOut; edge != null; edge = edge.nextOut)
+				edges.add(edge);
+		if (!directed)
+			for(EdgeAL<D> edge = V.firstIn; edge != null; edge = edge.nextIn)
+				edges.add(edge); //archi incidenti memorizzati nell'altro verso
+		return edges;
+	}
+
+	/**
+	 * Returns a view of the edges currently in the graph, visiting the lists of exiting
+	 * edges of the vertexes without copying them; Cost: O(1) (the visit costs
+	 * &Theta;(n+m), where n and m are respectively the number of vertexes and edges)
+	 * @return the view of the edges of the graph
+	 */
+	public Iterable<Edge<D>> edgesView() {
+		return () -> new Iterator<Edge<D>>() {
+			int i = 0; //vertice corrente
+			EdgeAL<D> next = advance(null);
+
+			/** returns the edge following e, moving to the next vertexes if needed */
+			private EdgeAL<D> advance(EdgeAL<D> e) {
+				e = (e == null) ? null : e.nextOut;
+				while (e == null && i < n)
+					e = vertexes.get(i++).firstOut;
+				return e;
+			}
+
+			public boolean hasNext() {
+				return next != null;
+			}
+
+			public Edge<D> next() {
+				if (next == null) throw new NoSuchElementException();
+				EdgeAL<D> e = next;
+				next = advance(e);
+				return e;
+			}
+		};
+	}
+
+	/**
+	 * Returns a view of the edges currently exiting from a given vertex (its incident
+	 * edges, if the graph is undirected), visiting its lists without copying them;
+	 * Cost: O(1) (the visit costs O(&delta;v), where &delta;v is the out degree of v)
+     * @param v vertex
+	 * @return the view of the edges exiting from the vertex <code>v</code>
+	 */
+	public Iterable<Edge<D>> outEdgesView(Vertex<D> v) {
+		VertexAL<D> V=(VertexAL<D>) v;
+		return () -> new Iterator<Edge<D>>() {
+			EdgeAL<D> next = V.firstOut;
+			boolean in = false; //true durante la visita della lista degli archi entranti
+
+			{
+				if (next == null && !directed) {
+					in = true;
+					next = V.firstIn;
+				}
+			}
+
+			public boolean hasNext() {
+				return next != null;
+			}
+
+			public Edge<D> next() {
+				if (next == null) throw new NoSuchElementException();
+				EdgeAL<D> e = next;
+				next = in ? e.nextIn : e.nextOut;
+				if (next == null && !in && !directed) {
+					in = true;
+					next = V.firstIn;
+				}
+				return e;
+			}
+		};
+	}
+
+	/**
+	 * Performs an action on each edge exiting from a given vertex (on each incident
+	 * edge, if the graph is undirected); Cost: O(&delta;v), where  &delta;v is the
+	 * out degree of v
+     * @param v vertex
+     * @param action the action to perform on each edge
+	 */
+	public void forEachOutEdge(Vertex<D> v, Consumer<? super Edge<D>> action) {
+		VertexAL<D> V=(VertexAL<D>) v;
+		for(EdgeAL<D> edge = V.firstOut; edge != null; edge = edge.nextOut)
+			action.accept(edge);
+		if (!directed)
+			for(EdgeAL<D> edge = V.firstIn; edge != null; edge = edge.nextIn)
+				action.accept(edge);
+	}
+
+	/**
+	 * Returns a new cursor on the exiting edges of the vertexes, which follows the
+	 * lists of exiting edges (and then the lists of entering edges, if the graph is
+	 * undirected); Cost: O(1)
+	 * @return a new cursor
+	 */
+	public EdgeCursor<D> edgeCursor() {
+		return new EdgeCursor<D>() {
+			VertexAL<D> x; //vertice del cursore
+			EdgeAL<D> current; //arco corrente
+			boolean started, in; //visita iniziata, visita della lista degli archi entranti
+
+			public void reset(Vertex<D> v) {
+				x = (VertexAL<D>) v;
+				current = null;
+				started = in = false;
+			}
+
+			public boolean next() {
+				if (!started) {
+					started = true;
+					current = x.firstOut;
+				} else if (current != null) {
+					current = in ? current.nextIn : current.nextOut;
+				} else {
+					return false;
+				}
+				if (current == null && !in && !directed) {
+					in = true;
+					current = x.firstIn;
+				}
+				return current != null;
+			}
+
+			public int dest() {
+				return (in ? current.source : current.dest).index;
+			}
+
+			public double weight() {
+				return current.weight;
+			}
+		};
+	}
+
+	/**
+	 * Returns a list with the edges currently entering a given vertex; 
+	 * Cost: O(&delta;v), where  &delta;v is the in degree of v
+     * @param v vertex
+	 * @return the list of edges entering the vertex <code>v</code>
+	 */	
+	public ArrayList<Edge<D>> inEdges(Vertex<D> v) {
+		ArrayList<Edge<D>> edges = new ArrayList<Edge<D>>();
+		VertexAL<D> V=(VertexAL<D>) v;
+		for(EdgeAL<D> edge = V.firstIn; edge != null; edge = edge.nextIn)
 				edges.add(edge);
 		return edges;
 	}
 	
 	/**
-	 * Returns the edge connecting two given vertexes
-	 * (returns null if the edge does not exist);
-	 * Cost: O(&delta;x), where  &delta;x is the out degree of x
+	 * Returns the edge connecting two given vertexes (the first one in the list of
+	 * exiting edges of x, if there are parallel edges; returns null if the edge does
+	 * not exist). If the graph is undirected and no edge is stored from x to y, the
+	 * edge stored from y to x is searched in the index or in the list of exiting edges
+	 * of y, or in the list of entering edges of x if it is shorter;
+	 * Cost: O(1) expected if x has an AdjacencyIndex, otherwise
+	 * O(&delta;x), where  &delta;x is the out degree of x
      * <ul>
      * <li> Worst-case: &Theta;(&delta;x)
      * <li> Best-case: O(1) 
@@ -105,11 +339,33 @@ public class GraphAL<D> implements Graph<D> {
 	 * <code>x</code> and <code>y</code> are not connected)
 	 */	
 	public Edge<D> areAdjacent(Vertex<D> x, Vertex<D> y) {
-		VertexAL<D> V=(VertexAL<D>) x;
-		for(EdgeAL<D> edge : V.adjac)
-			if(edge.dest.equals(y))	
+		VertexAL<D> X=(VertexAL<D>) x, Y=(VertexAL<D>) y;
+		EdgeAL<D> edge = exiting(X, Y);
+		if (edge != null || directed)
+			return edge;
+		if (Y.adjacency != null || Y.outDegree <= X.inDegree)
+			return exiting(Y, X); //arco memorizzato nell'altro verso
+		for(edge = X.firstIn; edge != null; edge = edge.nextIn)
+			if(edge.source == Y)
 				return edge;
-		return null;		
+		return null;
+	}
+
+	/**
+	 * Returns the first edge in the list of exiting edges of x whose destination is y,
+	 * using the AdjacencyIndex of x if it has one; Cost: O(1) expected if x has an
+	 * AdjacencyIndex, otherwise O(&delta;x), where &delta;x is the length of the list
+	 * @param x the source
+	 * @param y the destination
+	 * @return the first edge from x to y, null if there is none
+	 */
+	protected EdgeAL<D> exiting(VertexAL<D> x, VertexAL<D> y) {
+		if (x.adjacency != null)
+			return x.adjacency.get(y.id);
+		for(EdgeAL<D> edge = x.firstOut; edge != null; edge = edge.nextOut)
+			if(edge.dest == y)
+				return edge;
+		return null;
 	}
 
 	/**
@@ -119,6 +375,8 @@ public class GraphAL<D> implements Graph<D> {
 	 */	
 	public Vertex<D> addVertex(D data) {
 		VertexAL<D> V=new VertexAL<D>(data);
+		V.index = n;
+		V.id = nextId++;
 		vertexes.add(V);
 		n++;
 		return V;
@@ -132,9 +390,7 @@ public class GraphAL<D> implements Graph<D> {
 	public void addEdge(Vertex<D> source, Vertex<D> dest) {
 		VertexAL<D> src = (VertexAL<D>) source;
     	VertexAL<D> dst = (VertexAL<D>) dest;
-    	EdgeAL<D> edge = new EdgeAL<>(src, dst);
-    	src.adjac.add(edge);
-    	m++;
+    	link(new EdgeAL<>(src, dst));
 	}
 
 	/**
@@ -146,57 +402,103 @@ public class GraphAL<D> implements Graph<D> {
 	public void addEdge(Vertex<D> source, Vertex<D> dest, double weight) {
 		VertexAL<D> src = (VertexAL<D>) source;
     	VertexAL<D> dst = (VertexAL<D>) dest;
-    	EdgeAL<D> edge = new EdgeAL<>(src, dst, weight);
-    	src.adjac.add(edge);
-    	m++;
+    	link(new EdgeAL<>(src, dst, weight));
 	}
 	
 	/**
-	 * Remove a vertex; 
-	 * Cost &Theta;(n+m), where n is the number of vertexes in the graph
-	 * and m is the number of edges in the graph
+	 * Appends an edge to the list of exiting edges of its source and to the list of
+	 * entering edges of its destination, and indexes it if the source has an
+	 * AdjacencyIndex (creating the index when the out degree reaches the threshold);
+	 * Cost: O(1) amortized
+	 * @param edge the edge to add
+	 */
+	protected void link(EdgeAL<D> edge) {
+		VertexAL<D> src = edge.source, dst = edge.dest;
+		edge.prevOut = src.lastOut;
+		if (src.lastOut == null) src.firstOut = edge;
+		else src.lastOut.nextOut = edge;
+		src.lastOut = edge;
+		src.outDegree++;
+		if (src.adjacency != null) {
+			src.adjacency.add(edge);
+		} else if (src.outDegree >= indexDegree) { //indicizza gli archi uscenti
+			src.adjacency = new AdjacencyIndex<D>(2 * src.outDegree);
+			for (EdgeAL<D> e = src.firstOut; e != null; e = e.nextOut)
+				src.adjacency.add(e);
+		}
+		edge.prevIn = dst.lastIn;
+		if (dst.lastIn == null) dst.firstIn = edge;
+		else dst.lastIn.nextIn = edge;
+		dst.lastIn = edge;
+		dst.inDegree++;
+		m++;
+	}
+
+	/**
+	 * Removes an edge from the list of exiting edges of its source and from the list of
+	 * entering edges of its destination, and from the AdjacencyIndex of the source
+	 * (dropping the index when the out degree falls below half of the threshold);
+	 * Cost: O(1) expected
+	 * @param edge the edge to remove
+	 */
+	protected void unlink(EdgeAL<D> edge) {
+		VertexAL<D> src = edge.source, dst = edge.dest;
+		if (src.adjacency != null) {
+			src.adjacency.remove(edge);
+			if (src.outDegree - 1 < indexDegree / 2) src.adjacency = null;
+		}
+		if (edge.prevOut == null) src.firstOut = edge.nextOut;
+		else edge.prevOut.nextOut = edge.nextOut;
+		if (edge.nextOut == null) src.lastOut = edge.prevOut;
+		else edge.nextOut.prevOut = edge.prevOut;
+		src.outDegree--;
+		if (edge.prevIn == null) dst.firstIn = edge.nextIn;
+		else edge.prevIn.nextIn = edge.nextIn;
+		if (edge.nextIn == null) dst.lastIn = edge.prevIn;
+		else edge.nextIn.prevIn = edge.prevIn;
+		dst.inDegree--;
+		edge.prevOut = edge.nextOut = edge.prevIn = edge.nextIn = null;
+		m--;
+	}
+
+	/**
+	 * Checks whether an edge is currently in the lists of the graph; Cost: O(1)
+	 * @param edge the edge to check
+	 * @return true if the edge is in the list of exiting edges of its source
+	 */
+	protected boolean contains(EdgeAL<D> edge) {
+		return edge.prevOut != null || edge.source.firstOut == edge;
+	}
+
+	/**
+	 * Remove a vertex together with its exiting and entering edges; the last vertex of
+	 * the list of vertexes takes its position; Cost: O(&delta;v), where &delta;v is
+	 * the sum of the in degree and the out degree of v
      * @param v the vertex to remove
 	 */	
 	public void removeVertex(Vertex<D> v) {
 		VertexAL<D> vAL = (VertexAL<D>)v;
-		int index = 0;
-		while (index < n && vertexes.get(index) != v) index++;
-		if (index == n) return;
-		if (index == n-1) {
-			vertexes.remove(index);
-		} else {
-			VertexAL<D> vert = vertexes.remove(n-1);
+		int index = vAL.index;
+		if (index < 0 || index >= n || vertexes.get(index) != vAL) return;
+		VertexAL<D> vert = vertexes.remove(n-1);
+		if (vert != vAL) {
 			vertexes.set(index,vert);
+			vert.index = index;
 		}
+		vAL.index = -1;
 		n = n - 1;
-		m = m - vAL.adjac.size();
-		Edge<D> e;
-		for (int i=0; i<n; i++) {
-			Iterator<EdgeAL<D>> it = (vertexes.get(i)).adjac.iterator();
-			while (it.hasNext()) { 
-				e = it.next();
-				if (e.getDest() == v) {
-					it.remove();
-					m = m - 1;
-				}
-			}					
-		}
+		while (vAL.firstOut != null) unlink(vAL.firstOut); //archi uscenti (cappi compresi)
+		while (vAL.firstIn != null) unlink(vAL.firstIn); //archi entranti
 	}
 
 	/**
-	 * Remove an edge; Cost: O(&delta;e.source), where  &delta;e.source is the out degree of 
-	 * the source vertex of the edge to remove
-     * <ul>
-     * <li> Worst-case: &Theta;(&delta;e.source)
-     * <li> Best-case: O(1) 
-     * </ul>
+	 * Remove an edge (nothing is done if the edge is not in the graph); Cost: O(1)
      * @param e the edge to remove
 	 */	
 	public void removeEdge(Edge<D> e) {
 		EdgeAL<D> edge = (EdgeAL<D>) e;
-		VertexAL<D> src = (VertexAL<D>) edge.getSource();
-		if (src.adjac.remove(edge)) {
-			m--; 
+		if (contains(edge)) {
+			unlink(edge);
 		}
 	}
 	
@@ -213,12 +515,13 @@ public class GraphAL<D> implements Graph<D> {
 		for (int i=0; i<n; i++) {
 			VertexAL<D> v = vertexes.get(i);
 			S = S + v.getData().toString() + "\n";
-			for (int j=0; j<v.adjac.size(); j++) {
-				if (j<v.adjac.size()-1)
+			ArrayList<Edge<D>> out = outEdges(v);
+			for (int j = 0; j < out.size(); j++) {
+				if (j < out.size() - 1)
 					S = S+"├──── ";
 				else
 					S = S+"└──── ";
-				S = S+v.adjac.get(j).getDest().getData().toString()+"\n";
+				S = S+out.get(j).opposite(v).getData().toString()+"\n";
 			}
 		}
 		return S;
@@ -0,0 +1,273 @@
+package datastructure.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import util.ParallelRange;
+
+/**
+ * Bulk construction of a GraphAL from primitive arrays of edges, executed in parallel on
+ * a ForkJoinPool instead of with one addVertex call per vertex and one addEdge call per
+ * edge. The construction
+ * <ul>
+ * <li> counts in parallel the out degree and the in degree of each vertex and computes
+ * their prefix sums, i.e. the rows of the exiting and entering edges of each vertex in
+ * arrays of the final size;
+ * <li> scatters in parallel the edge ids in the rows, then sorts each row by id, so that
+ * the result does not depend on the scheduling of the threads;
+ * <li> creates in parallel the exiting edges of each vertex, consecutively so that each
+ * list is contiguous in memory, and links them (building the AdjacencyIndex of the vertex
+ * if its out degree reaches the threshold of the graph);
+ * <li> links in parallel the list of the entering edges of each vertex.
+ * </ul>
+ * With a pool of parallelism 1, or few edges, the rows are not needed: the edges are
+ * created and linked sequentially, in the order of the arrays.
+ * The resulting graph is identical to the one obtained by adding the vertexes in order of
+ * index and then the edges in the order of the arrays (each edge followed by its reverse,
+ * if both the directions are requested). An undirected graph (see GraphAL) can be built
+ * with buildUndirected: each edge is then created once and shared by its endpoints
+ */
+public final class GraphALBuilder {
+
+	/** length under which an interval is processed sequentially */
+	protected static final int THRESHOLD = 1 << 13;
+
+	/**
+	 * Not instantiable
+	 */
+	private GraphALBuilder() { }
+
+	/**
+	 * Builds a graph with a given list of vertex data and a given list of edges, where the
+	 * endpoints of the edges are the indexes of the vertexes in the list of data, using the
+	 * common ForkJoinPool; Cost: &Theta;(n+m) expected work (plus the sorting of the rows,
+	 * O(&delta;log &delta;) for a row of length &delta;), where n and m are respectively
+	 * the number of vertexes and edges
+	 * @param <D> type of the data object
+	 * @param data the data of the vertexes (the vertex of index i contains <code>data.get(i)</code>)
+	 * @param src the indexes of the sources of the edges
+	 * @param dst the indexes of the destinations of the edges
+	 * @param w the weights of the edges
+	 * @param edgeNum the number of edges (the first <code>edgeNum</code> positions of
+	 * the arrays are used)
+	 * @param bothDirections true to add each edge in both the directions
+	 * @return the graph
+	 * @throws IllegalArgumentException if an endpoint is out of range
+	 */
+	public static <D> GraphAL<D> build(List<D> data, int[] src, int[] dst, double[] w,
+			int edgeNum, boolean bothDirections) {
+		return build(data, src, dst, w, edgeNum, bothDirections, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Builds a graph with a given list of vertex data and a given list of edges, where the
+	 * endpoints of the edges are the indexes of the vertexes in the list of data;
+	 * Cost: &Theta;(n+m) expected work (plus the sorting of the rows, O(&delta;log &delta;)
+	 * for a row of length &delta;), where n and m are respectively the number of vertexes
+	 * and edges
+	 * @param <D> type of the data object
+	 * @param data the data of the vertexes (the vertex of index i contains <code>data.get(i)</code>)
+	 * @param src the indexes of the sources of the edges
+	 * @param dst the indexes of the destinations of the edges
+	 * @param w the weights of the edges
+	 * @param edgeNum the number of edges (the first <code>edgeNum</code> positions of
+	 * the arrays are used)
+	 * @param bothDirections true to add each edge in both the directions
+	 * @param pool the pool running the parallel phases
+	 * @return the graph
+	 * @throws IllegalArgumentException if an endpoint is out of range
+	 */
+	public static <D> GraphAL<D> build(List<D> data, int[] src, int[] dst, double[] w,
+			int edgeNum, boolean bothDirections, ForkJoinPool pool) {
+		return build(data, src, dst, w, edgeNum, bothDirections, true, pool);
+	}
+
+	/**
+	 * Builds an undirected graph with a given list of vertex data and a given list of
+	 * edges, where the endpoints of the edges are the indexes of the vertexes in the list
+	 * of data, using the common ForkJoinPool; each edge is stored once;
+	 * Cost: &Theta;(n+m) expected work (plus the sorting of the rows, O(&delta;log &delta;)
+	 * for a row of length &delta;), where n and m are respectively the number of vertexes
+	 * and edges
+	 * @param <D> type of the data object
+	 * @param data the data of the vertexes (the vertex of index i contains <code>data.get(i)</code>)
+	 * @param src the indexes of the first endpoints of the edges
+	 * @param dst the indexes of the second endpoints of the edges
+	 * @param w the weights of the edges
+	 * @param edgeNum the number of edges (the first <code>edgeNum</code> positions of
+	 * the arrays are used)
+	 * @return the undirected graph
+	 * @throws IllegalArgumentException if an endpoint is out of range
+	 */
+	public static <D> GraphAL<D> buildUndirected(List<D> data, int[] src, int[] dst, double[] w,
+			int edgeNum) {
+		return buildUndirected(data, src, dst, w, edgeNum, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Builds an undirected graph with a given list of vertex data and a given list of
+	 * edges, where the endpoints of the edges are the indexes of the vertexes in the list
+	 * of data; each edge is stored once; Cost: &Theta;(n+m) expected work (plus the sorting
+	 * of the rows, O(&delta;log &delta;) for a row of length &delta;), where n and m are
+	 * respectively the number of vertexes and edges
+	 * @param <D> type of the data object
+	 * @param data the data of the vertexes (the vertex of index i contains <code>data.get(i)</code>)
+	 * @param src the indexes of the first endpoints of the edges
+	 * @param dst the indexes of the second endpoints of the edges
+	 * @param w the weights of the edges
+	 * @param edgeNum the number of edges (the first <code>edgeNum</code> positions of
+	 * the arrays are used)
+	 * @param pool the pool running the parallel phases
+	 * @return the undirected graph
+	 * @throws IllegalArgumentException if an endpoint is out of range
+	 */
+	public static <D> GraphAL<D> buildUndirected(List<D> data, int[] src, int[] dst, double[] w,
+			int edgeNum, ForkJoinPool pool) {
+		return build(data, src, dst, w, edgeNum, false, false, pool);
+	}
+
+	/**
+	 * Builds a graph with a given list of vertex data and a given list of edges
+	 * @param <D> type of the data object
+	 * @param data the data of the vertexes
+	 * @param src the indexes of the sources of the edges
+	 * @param dst the indexes of the destinations of the edges
+	 * @param w the weights of the edges
+	 * @param edgeNum the number of edges
+	 * @param bothDirections true to add each edge in both the directions
+	 * @param directed true to build a directed graph
+	 * @param pool the pool running the parallel phases
+	 * @return the graph
+	 * @throws IllegalArgumentException if an endpoint is out of range
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static <D> GraphAL<D> build(List<D> data, int[] src, int[] dst, double[] w,
+			int edgeNum, boolean bothDirections, boolean directed, ForkJoinPool pool) {
+		int n = data.size();
+		if (bothDirections && edgeNum > Integer.MAX_VALUE / 2)
+			throw new IllegalArgumentException("too many edges");
+		int k = bothDirections ? 2 * edgeNum : edgeNum; //archi del grafo
+		int shift = bothDirections ? 1 : 0;
+		boolean parallel = pool.getParallelism() > 1 && k > THRESHOLD;
+
+		//controlla gli estremi, ricordando il primo arco non valido, e conta i gradi
+		AtomicInteger invalid = new AtomicInteger(edgeNum);
+		AtomicIntegerArray outCount = new AtomicIntegerArray(parallel ? n : 0);
+		AtomicIntegerArray inCount = new AtomicIntegerArray(parallel ? n : 0);
+		ParallelRange.run(pool, 0, edgeNum, THRESHOLD, (lo, hi) -> {
+			for (int j = lo; j < hi; j++) {
+				if (src[j] < 0 || src[j] >= n || dst[j] < 0 || dst[j] >= n) {
+					invalid.accumulateAndGet(j, Math::min);
+					return;
+				}
+				if (!parallel) continue;
+				outCount.getAndIncrement(src[j]);
+				inCount.getAndIncrement(dst[j]);
+				if (bothDirections) {
+					outCount.getAndIncrement(dst[j]);
+					inCount.getAndIncrement(src[j]);
+				}
+			}
+		});
+		if (invalid.get() < edgeNum)
+			throw new IllegalArgumentException("edge " + invalid.get() + " has an endpoint out of range");
+
+		GraphAL<D> g = new GraphAL<D>(directed);
+		VertexAL<D>[] vert = (VertexAL<D>[]) new VertexAL[n];
+		ParallelRange.run(pool, 0, n, THRESHOLD, (lo, hi) -> {
+			for (int i = lo; i < hi; i++) {
+				vert[i] = new VertexAL<D>(data.get(i));
+				vert[i].index = i;
+				vert[i].id = i;
+			}
+		});
+		g.vertexes = new ArrayList<VertexAL<D>>(Arrays.asList(vert));
+		g.n = n;
+		g.nextId = n;
+		if (!parallel) { //senza parallelismo basta collegare gli archi in ordine
+			for (int i = 0; i < k; i++) {
+				int j = i >> shift;
+				boolean reverse = (i & shift) != 0;
+				g.link(new EdgeAL<D>(vert[reverse ? dst[j] : src[j]], vert[reverse ? src[j] : dst[j]], w[j]));
+			}
+			return g;
+		}
+
+		//somme prefisse: righe degli archi uscenti ed entranti di ogni vertice
+		int[] outOffset = new int[n + 1], inOffset = new int[n + 1];
+		AtomicIntegerArray outNext = new AtomicIntegerArray(n), inNext = new AtomicIntegerArray(n);
+		for (int i = 0; i < n; i++) {
+			outOffset[i + 1] = outOffset[i] + outCount.get(i);
+			inOffset[i + 1] = inOffset[i] + inCount.get(i);
+			outNext.set(i, outOffset[i]);
+			inNext.set(i, inOffset[i]);
+		}
+
+		//distribuisce gli id degli archi nelle righe (l'arco i corrisponde alla posizione
+		//i >> shift degli array, invertito se i e' dispari e ci sono entrambe le direzioni)
+		int[] outRow = new int[k], inRow = new int[k];
+		ParallelRange.run(pool, 0, k, THRESHOLD, (lo, hi) -> {
+			for (int i = lo; i < hi; i++) {
+				int j = i >> shift;
+				boolean reverse = (i & shift) != 0;
+				outRow[outNext.getAndIncrement(reverse ? dst[j] : src[j])] = i;
+				inRow[inNext.getAndIncrement(reverse ? src[j] : dst[j])] = i;
+			}
+		});
+
+		//ordina ogni riga di archi uscenti per id, crea i suoi archi (contigui in memoria)
+		//e collega la lista
+		EdgeAL<D>[] edges = (EdgeAL<D>[]) new EdgeAL[k];
+		int indexDegree = g.indexDegree;
+		ParallelRange.run(pool, 0, n, THRESHOLD, (lo, hi) -> {
+			for (int v = lo; v < hi; v++) {
+				VertexAL<D> x = vert[v];
+				int a = outOffset[v], b = outOffset[v + 1];
+				Arrays.sort(outRow, a, b);
+				EdgeAL<D> prev = null;
+				for (int p = a; p < b; p++) {
+					int i = outRow[p], j = i >> shift;
+					EdgeAL<D> e = new EdgeAL<D>(x, vert[((i & shift) != 0) ? src[j] : dst[j]], w[j]);
+					edges[i] = e;
+					e.prevOut = prev;
+					if (prev == null) x.firstOut = e;
+					else prev.nextOut = e;
+					prev = e;
+				}
+				x.lastOut = prev;
+				x.outDegree = b - a;
+				if (x.outDegree >= indexDegree) {
+					x.adjacency = new AdjacencyIndex<D>(2 * x.outDegree);
+					for (EdgeAL<D> e = x.firstOut; e != null; e = e.nextOut)
+						x.adjacency.add(e);
+				}
+			}
+		});
+
+		//ordina ogni riga di archi entranti per id e collega la lista
+		ParallelRange.run(pool, 0, n, THRESHOLD, (lo, hi) -> {
+			for (int v = lo; v < hi; v++) {
+				VertexAL<D> x = vert[v];
+				int a = inOffset[v], b = inOffset[v + 1];
+				Arrays.sort(inRow, a, b);
+				EdgeAL<D> prev = null;
+				for (int p = a; p < b; p++) {
+					EdgeAL<D> e = edges[inRow[p]];
+					e.prevIn = prev;
+					if (prev == null) x.firstIn = e;
+					else prev.nextIn = e;
+					prev = e;
+				}
+				x.lastIn = prev;
+				x.inDegree = b - a;
+			}
+		});
+
+		g.m = k;
+		return g;
+	}
+
+}
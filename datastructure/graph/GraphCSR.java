@@ -0,0 +1,401 @@
+package datastructure.graph;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.List;
+
+/**
+ * Implementation using Compressed Sparse Rows of a generic Graph data structure composed
+ * of vertexes of type VertexCSR containing <code>data</code> objects and edges of type EdgeCSR.
+ * The graph is built once from a list of edges and then it can only be read:
+ * the edges exiting from the vertex of index i occupy the positions from
+ * <code>offset[i]</code> (included) to <code>offset[i+1]</code> (excluded) of the
+ * primitive arrays <code>dest</code> and <code>weight</code>, in the same order
+ * they have in the list used to build the graph.
+ * The operations modifying the graph throw an UnsupportedOperationException
+ * @param <D> type of the data object
+ */
+public class GraphCSR<D> implements Graph<D> {
+
+	/** number of vertexes */
+	protected int n;
+
+	/** number of edges */
+	protected int m;
+
+	/** array of vertexes, ordered by index */
+	protected VertexCSR<D>[] vertexes;
+
+	/** position of the first edge exiting from each vertex (n+1 positions) */
+	protected int[] offset;
+
+	/** index of the destination of each edge */
+	protected int[] dest;
+
+	/** weight of each edge */
+	protected double[] weight;
+
+	/**
+	 * Constructs a graph with a given list of vertex data and a given list of edges,
+	 * where the endpoints of the edges are the indexes of the vertexes in the list of data;
+	 * Cost: &Theta;(n+m), where n and m are respectively the number of vertexes and edges
+	 * @param data the data of the vertexes (the vertex of index i contains <code>data.get(i)</code>)
+	 * @param src the indexes of the sources of the edges
+	 * @param dst the indexes of the destinations of the edges
+	 * @param w the weights of the edges
+	 * @param edgeNum the number of edges (the first <code>edgeNum</code> positions of
+	 * the arrays are used)
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public GraphCSR(List<D> data, int[] src, int[] dst, double[] w, int edgeNum) {
+		n = data.size();
+		m = edgeNum;
+		vertexes = (VertexCSR<D>[]) new VertexCSR[n];
+		for (int i = 0; i < n; i++)
+			vertexes[i] = new VertexCSR<D>(data.get(i), i);
+
+		//conta gli archi uscenti da ogni vertice e calcola le somme prefisse
+		offset = new int[n + 1];
+		for (int j = 0; j < m; j++) {
+			if (src[j] < 0 || src[j] >= n || dst[j] < 0 || dst[j] >= n)
+				throw new IllegalArgumentException("edge " + j + " has an endpoint out of range");
+			offset[src[j] + 1]++;
+		}
+		for (int i = 0; i < n; i++)
+			offset[i + 1] += offset[i];
+
+		//distribuisce gli archi nelle righe mantenendo l'ordine della lista
+		int[] next = new int[n];
+		System.arraycopy(offset, 0, next, 0, n);
+		dest = new int[m];
+		weight = new double[m];
+		for (int j = 0; j < m; j++) {
+			int p = next[src[j]]++;
+			dest[p] = dst[j];
+			weight[p] = w[j];
+		}
+	}
+
+	/**
+	 * Returns a graph with the same vertexes and edges of a given graph (each edge of an
+	 * undirected graph is copied in both directions, since the copy is directed);
+	 * Cost: &Theta;(n+m), where n and m are respectively the number of vertexes and edges
+	 * @param <D> type of the data object
+	 * @param graph the graph to copy
+	 * @return the graph implemented using compressed sparse rows
+	 */
+	public static <D> GraphCSR<D> copyOf(Graph<D> graph) {
+		ArrayList<Vertex<D>> vert = graph.vertexes();
+		ArrayList<D> data = new ArrayList<D>(vert.size());
+		for (int i = 0; i < vert.size(); i++)
+			data.add(vert.get(i).getData());
+		boolean both = !graph.isDirected();
+		int m = both ? 2 * graph.edgeNum() : graph.edgeNum();
+		int[] src = new int[m];
+		int[] dst = new int[m];
+		double[] w = new double[m];
+		int j = 0;
+		for (Edge<D> e : graph.edgesView()) {
+			src[j] = e.getSource().getIndex();
+			dst[j] = e.getDest().getIndex();
+			w[j++] = e.getWeight();
+			if (both) { //arco inverso
+				src[j] = dst[j - 1];
+				dst[j] = src[j - 1];
+				w[j++] = e.getWeight();
+			}
+		}
+		return new GraphCSR<D>(data, src, dst, w, m);
+	}
+
+	/**
+	 * Returns the number of vertexes of the graph; Cost: O(1)
+	 * @return the number of vertexes
+	 */
+	public int vertexNum() { return n; }
+
+	/**
+	 * Returns the number of edges of the graph; Cost: O(1)
+	 * @return the number of edges
+	 */
+	public int edgeNum() { return m; }
+
+	/**
+	 * Returns true, since the graph is always directed (copyOf stores the edges of an
+	 * undirected graph in both directions); Cost: O(1)
+	 * @return true
+	 */
+	public boolean isDirected() { return true; }
+
+	/**
+	 * Returns a list with the vertexes of the graph, ordered by index;
+	 * Cost: &Theta;(n), where n is the number of vertexes in the graph
+	 * @return a list with the vertexes of the graph
+	 */
+	public ArrayList<Vertex<D>> vertexes() {
+		ArrayList<Vertex<D>> V = new ArrayList<Vertex<D>>(n);
+		for (int i = 0; i < n; i++)
+			V.add(vertexes[i]);
+		return V;
+	}
+
+	/**
+	 * Returns a list with the edges of the graph, ordered by source;
+	 * Cost &Theta;(n+m), where n and m are respectively the number of vertexes and edges
+	 * @return the list with the edges of the graph
+	 */
+	public ArrayList<Edge<D>> edges() {
+		ArrayList<Edge<D>> edges = new ArrayList<Edge<D>>(m);
+		for (int i = 0; i < n; i++)
+			for (int j = offset[i]; j < offset[i + 1]; j++)
+				edges.add(new EdgeCSR<D>(vertexes[i], vertexes[dest[j]], weight[j]));
+		return edges;
+	}
+
+	/**
+	 * Returns the out degree of a vertex; Cost: O(1)
+	 * @param v vertex
+	 * @return the out degree of the vertex <code>v</code>
+	 */
+	public int outDegree(Vertex<D> v) {
+		int i = ((VertexCSR<D>) v).index;
+		return offset[i + 1] - offset[i];
+	}
+
+	/**
+	 * Returns a list with the edges exiting from a given vertex;
+	 * Cost: &Theta;(&delta;v), where &delta;v is the out degree of v
+	 * @param v vertex
+	 * @return the list of edges exiting from the vertex <code>v</code>
+	 */
+	public ArrayList<Edge<D>> outEdges(Vertex<D> v) {
+		VertexCSR<D> V = (VertexCSR<D>) v;
+		ArrayList<Edge<D>> edges = new ArrayList<Edge<D>>(offset[V.index + 1] - offset[V.index]);
+		for (int j = offset[V.index]; j < offset[V.index + 1]; j++)
+			edges.add(new EdgeCSR<D>(V, vertexes[dest[j]], weight[j]));
+		return edges;
+	}
+
+	/**
+	 * Returns a view of the edges of the graph, ordered by source, without copying them
+	 * in a list; the view is not allocation free, since a new EdgeCSR is created for each
+	 * visited edge (edgeCursor visits the edges without allocations); Cost: O(1) (the visit
+	 * costs &Theta;(n+m), where n and m are respectively the number of vertexes and edges)
+	 * @return the view of the edges of the graph
+	 */
+	public Iterable<Edge<D>> edgesView() {
+		return () -> new Iterator<Edge<D>>() {
+			int i = 0, j = 0; //vertice sorgente e posizione dell'arco successivo
+
+			public boolean hasNext() {
+				return j < m;
+			}
+
+			public Edge<D> next() {
+				if (j >= m) throw new NoSuchElementException();
+				while (offset[i + 1] <= j) i++; //salta i vertici senza altri archi
+				EdgeCSR<D> e = new EdgeCSR<D>(vertexes[i], vertexes[dest[j]], weight[j]);
+				j++;
+				return e;
+			}
+		};
+	}
+
+	/**
+	 * Returns a view of the edges exiting from a given vertex, without copying them
+	 * in a list; the view is not allocation free, since a new EdgeCSR is created for each
+	 * visited edge (edgeCursor visits the edges without allocations); Cost: O(1) (the visit
+	 * costs &Theta;(&delta;v), where &delta;v is the out degree of v)
+	 * @param v vertex
+	 * @return the view of the edges exiting from the vertex <code>v</code>
+	 */
+	public Iterable<Edge<D>> outEdgesView(Vertex<D> v) {
+		VertexCSR<D> V = (VertexCSR<D>) v;
+		return () -> new Iterator<Edge<D>>() {
+			int j = offset[V.index]; //posizione dell'arco successivo
+
+			public boolean hasNext() {
+				return j < offset[V.index + 1];
+			}
+
+			public Edge<D> next() {
+				if (!hasNext()) throw new NoSuchElementException();
+				EdgeCSR<D> e = new EdgeCSR<D>(V, vertexes[dest[j]], weight[j]);
+				j++;
+				return e;
+			}
+		};
+	}
+
+	/**
+	 * Performs an action on each edge exiting from a given vertex (an EdgeCSR is
+	 * created for each edge); Cost: &Theta;(&delta;v), where &delta;v is the out degree of v
+	 * @param v vertex
+	 * @param action the action to perform on each edge
+	 */
+	public void forEachOutEdge(Vertex<D> v, Consumer<? super Edge<D>> action) {
+		VertexCSR<D> V = (VertexCSR<D>) v;
+		for (int j = offset[V.index]; j < offset[V.index + 1]; j++)
+			action.accept(new EdgeCSR<D>(V, vertexes[dest[j]], weight[j]));
+	}
+
+	/**
+	 * Returns a new cursor on the exiting edges of the vertexes, which reads the rows
+	 * of the arrays of the graph; Cost: O(1)
+	 * @return a new cursor
+	 */
+	public EdgeCursor<D> edgeCursor() {
+		return new EdgeCursor<D>() {
+			int j, end; //posizione dell'arco corrente e fine della riga
+
+			public void reset(Vertex<D> v) {
+				int i = ((VertexCSR<D>) v).index;
+				j = offset[i] - 1;
+				end = offset[i + 1];
+			}
+
+			public boolean next() {
+				return ++j < end;
+			}
+
+			public int dest() {
+				return dest[j];
+			}
+
+			public double weight() {
+				return weight[j];
+			}
+		};
+	}
+
+	/**
+	 * Returns the edge connecting two given vertexes
+	 * (returns null if the edge does not exist);
+	 * Cost: O(&delta;x), where &delta;x is the out degree of x
+	 * <ul>
+	 * <li> Worst-case: &Theta;(&delta;x)
+	 * <li> Best-case: O(1)
+	 * </ul>
+	 * @param x source vertex
+	 * @param y destination vertex
+	 * @return the edge connecting <code>x</code> and <code>y</code> (return null if
+	 * <code>x</code> and <code>y</code> are not connected)
+	 */
+	public Edge<D> areAdjacent(Vertex<D> x, Vertex<D> y) {
+		VertexCSR<D> X = (VertexCSR<D>) x;
+		int yi = ((VertexCSR<D>) y).index;
+		for (int j = offset[X.index]; j < offset[X.index + 1]; j++)
+			if (dest[j] == yi)
+				return new EdgeCSR<D>(X, vertexes[yi], weight[j]);
+		return null;
+	}
+
+	/**
+	 * Not supported: the graph cannot be modified after its construction
+	 * @param data the datum to insert in the new vertex
+	 * @return never returns
+	 * @throws UnsupportedOperationException always
+	 */
+	public Vertex<D> addVertex(D data) {
+		throw new UnsupportedOperationException("GraphCSR cannot be modified");
+	}
+
+	/**
+	 * Not supported: the graph cannot be modified after its construction
+	 * @param source the source of the edge to add
+	 * @param dest the destination of the edge to add
+	 * @throws UnsupportedOperationException always
+	 */
+	public void addEdge(Vertex<D> source, Vertex<D> dest) {
+		throw new UnsupportedOperationException("GraphCSR cannot be modified");
+	}
+
+	/**
+	 * Not supported: the graph cannot be modified after its construction
+	 * @param source the source of the edge to add
+	 * @param dest the destination of the edge to add
+	 * @param weight the weight of the edge to add
+	 * @throws UnsupportedOperationException always
+	 */
+	public void addEdge(Vertex<D> source, Vertex<D> dest, double weight) {
+		throw new UnsupportedOperationException("GraphCSR cannot be modified");
+	}
+
+	/**
+	 * Not supported: the graph cannot be modified after its construction
+	 * @param v the vertex to remove
+	 * @throws UnsupportedOperationException always
+	 */
+	public void removeVertex(Vertex<D> v) {
+		throw new UnsupportedOperationException("GraphCSR cannot be modified");
+	}
+
+	/**
+	 * Not supported: the graph cannot be modified after its construction
+	 * @param e the edge to remove
+	 * @throws UnsupportedOperationException always
+	 */
+	public void removeEdge(Edge<D> e) {
+		throw new UnsupportedOperationException("GraphCSR cannot be modified");
+	}
+
+	/**
+	 * Returns the position of the first edge exiting from the vertex of a given index; Cost: O(1)
+	 * @param i the index of the vertex
+	 * @return the position of the first edge exiting from the vertex
+	 */
+	public int edgeBegin(int i) {
+		return offset[i];
+	}
+
+	/**
+	 * Returns the position following the last edge exiting from the vertex of a given
+	 * index; Cost: O(1)
+	 * @param i the index of the vertex
+	 * @return the position following the last edge exiting from the vertex
+	 */
+	public int edgeEnd(int i) {
+		return offset[i + 1];
+	}
+
+	/**
+	 * Returns the index of the destination of the edge in a given position; Cost: O(1)
+	 * @param j the position of the edge
+	 * @return the index of the destination of the edge
+	 */
+	public int edgeDest(int j) {
+		return dest[j];
+	}
+
+	/**
+	 * Returns the weight of the edge in a given position; Cost: O(1)
+	 * @param j the position of the edge
+	 * @return the weight of the edge
+	 */
+	public double edgeWeight(int j) {
+		return weight[j];
+	}
+
+	/**
+	 * Returns a printable string representation of the Graph. For each vertex
+	 * in the graph lists the adjacent vertexes;
+	 * Cost &Theta;(n+m), where n is the number of vertexes in the graph
+	 * and m is the number of edges in the graph
+	 * @return string representation of the Graph
+	 */
+	@Override
+	public String toString() {
+		StringBuilder S = new StringBuilder();
+		for (int i = 0; i < n; i++) {
+			S.append(vertexes[i].getData().toString()).append("\n");
+			for (int j = offset[i]; j < offset[i + 1]; j++) {
+				S.append(j < offset[i + 1] - 1 ? "├──── " : "└──── ");
+				S.append(vertexes[dest[j]].getData().toString()).append("\n");
+			}
+		}
+		return S.toString();
+	}
+
+}
@@ -12,5 +12,15 @@ public interface Vertex<D> {
 	 * @return the vertex data
 	 */
 	public D getData();
+
+	/**
+	 * Returns the index of the vertex in its graph: the n vertexes of a graph have the
+	 * indexes 0, 1, ..., n-1, in the order of the list returned by vertexes(), so that
+	 * the algorithms can keep their per-vertex state in arrays indexed by vertex.
+	 * The index of a vertex does not change when vertexes or edges are added, but it
+	 * can change when a vertex is removed
+	 * @return the index of the vertex (-1 if the vertex has been removed from its graph)
+	 */
+	public int getIndex();
 	
 }
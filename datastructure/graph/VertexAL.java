@@ -1,12 +1,18 @@
 package datastructure.graph;
 
-import java.util.LinkedList;
-
 /**
  * Implementation of the vertexes containing <code>data</code> objects of a generic 
  * Graph data structure composed of edges of type EdgeAL and implemented using
  * Adjacent Lists. 
- * Besides the data object, the vertexes contain the pointer to the list of adjacent vertexes.
+ * Besides the data object, the vertexes contain the pointers to the first and last edges
+ * of the list of exiting edges and of the list of entering edges (the lists are linked
+ * through the edges themselves, see EdgeAL), their lengths and the position of the vertex
+ * in the list of vertexes of the graph. The vertexes with a high out degree also have an
+ * AdjacencyIndex of their exiting edges, keyed by the identifiers of the destinations.
+ * The identifier is kept by every vertex, so the index costs each vertex an int and a
+ * (null for the low degree vertexes) reference. The position of the vertex cannot be
+ * used as key, since removeVertex moves the last vertex to another position and every
+ * AdjacencyIndex containing it would have to be rekeyed.
  * @param <D> type of the data object 
  */	
 public class VertexAL<D> implements Vertex<D> {
@@ -14,8 +20,26 @@ public class VertexAL<D> implements Vertex<D> {
 	/** the data element in the vertex */	
 	protected D data;
 	
-	/** the adjacent list of the vertex */	
-	protected LinkedList<EdgeAL<D>> adjac;
+	/** the first and last edges of the list of the edges exiting from the vertex */
+	protected EdgeAL<D> firstOut, lastOut;
+
+	/** the first and last edges of the list of the edges entering the vertex */
+	protected EdgeAL<D> firstIn, lastIn;
+
+	/** the out degree and the in degree of the vertex */
+	protected int outDegree, inDegree;
+
+	/** the position of the vertex in the list of vertexes of the graph (-1 if removed) */
+	protected int index = -1;
+
+	/**
+	 * the identifier of the vertex, unique and stable in its graph: the key of the
+	 * vertex in the AdjacencyIndex of the vertexes with an edge towards it
+	 */
+	protected int id;
+
+	/** the index of the exiting edges by destination (null if the out degree is low) */
+	protected AdjacencyIndex<D> adjacency;
 
 	/**
    	 * Constructs a vertex for a graph implemented using adjacent lists
@@ -23,7 +47,6 @@ public class VertexAL<D> implements Vertex<D> {
 	 */			
 	public VertexAL(D data) { 
 		this.data = data;
-		adjac =  new LinkedList<EdgeAL<D>>();
 	}
 	
 	/**
@@ -34,4 +57,13 @@ public class VertexAL<D> implements Vertex<D> {
 		return this.data;
 	}
 
+	/**
+	 * Returns the index of the vertex in its graph, i.e. its position in the list of
+	 * vertexes (when a vertex is removed, the last vertex takes its index)
+	 * @return the index of the vertex (-1 if the vertex has been removed)
+	 */
+	public int getIndex() {
+		return this.index;
+	}
+
 }
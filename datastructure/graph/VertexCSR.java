@@ -0,0 +1,44 @@
+package datastructure.graph;
+
+/**
+ * Implementation of the vertexes containing <code>data</code> objects of a generic 
+ * Graph data structure implemented using Compressed Sparse Rows.
+ * Besides the data object, the vertexes contain their index in the graph, which 
+ * identifies the row of the vertex in the arrays of the graph.
+ * @param <D> type of the data object 
+ */	
+public class VertexCSR<D> implements Vertex<D> {
+
+	/** the data element in the vertex */	
+	protected D data;
+	
+	/** the index of the vertex in the graph */	
+	protected int index;
+
+	/**
+   	 * Constructs a vertex for a graph implemented using compressed sparse rows
+	 * @param data data to insert in the vertex
+	 * @param index index of the vertex in the graph
+	 */			
+	public VertexCSR(D data, int index) { 
+		this.data = data;
+		this.index = index;
+	}
+	
+	/**
+	 * Returns the vertex data
+	 * @return the vertex data
+	 */
+	public D getData() {
+		return this.data;
+	}
+
+	/**
+	 * Returns the index of the vertex in the graph
+	 * @return the index of the vertex
+	 */
+	public int getIndex() {
+		return this.index;
+	}
+
+}
@@ -0,0 +1,270 @@
+package datastructure.linkcut;
+
+import java.util.Arrays;
+
+/**
+ * Implementation of a forest of link-cut trees (Sleator and Tarjan) on the nodes
+ * 0, 1, ..., capacity-1, each with a double value, supporting the query of the node
+ * with maximum value on the path between two nodes.
+ * Each tree is decomposed in preferred paths, each stored in a splay tree ordered by
+ * depth (<code>left</code>, <code>right</code>); the root of a splay tree points with
+ * <code>parent</code> to the parent of the topmost node of its path (path-parent pointer).
+ * Every node stores the node with maximum value of its splay subtree, and a reversal flag
+ * used to re-root a tree by reversing the path from the root to a node.
+ * All the operations have an amortized cost of O(log n), where n is the capacity.
+ * The structure only uses primitive arrays, and no object is allocated by the operations
+ */
+public class LinkCutTree {
+
+	/** the value of the links to no node */
+	public static final int NONE = -1;
+
+	/** the value of each node */
+	protected double[] value;
+
+	/** the node with maximum value in the splay subtree of each node */
+	protected int[] max;
+
+	/** the children in the splay trees */
+	protected int[] left, right;
+
+	/** the parent in the splay tree, or the path-parent for the roots of the splay trees */
+	protected int[] parent;
+
+	/** the flags of the splay subtrees whose children must be swapped */
+	protected boolean[] reversed;
+
+	/** the stack used to push down the reversal flags */
+	protected int[] stack;
+
+	/**
+	 * Creates a forest of isolated nodes, each with value negative infinity
+	 * @param capacity the number of nodes: the nodes are the integers in [0,capacity)
+	 */
+	public LinkCutTree(int capacity) {
+		value = new double[capacity];
+		Arrays.fill(value, Double.NEGATIVE_INFINITY);
+		max = new int[capacity];
+		for (int x = 0; x < capacity; x++) max[x] = x;
+		left = new int[capacity];
+		right = new int[capacity];
+		parent = new int[capacity];
+		Arrays.fill(left, NONE);
+		Arrays.fill(right, NONE);
+		Arrays.fill(parent, NONE);
+		reversed = new boolean[capacity];
+		stack = new int[capacity];
+	}
+
+	/**
+	 * Returns the number of nodes of the forest
+	 * @return the capacity of the forest
+	 */
+	public int capacity() {
+		return value.length;
+	}
+
+	/**
+	 * Returns the value of a node; Cost: O(1)
+	 * @param x the node
+	 * @return the value of the node
+	 */
+	public double getValue(int x) {
+		return value[x];
+	}
+
+	/**
+	 * Sets the value of a node; Amortized Cost: O(log n)
+	 * @param x the node
+	 * @param v the new value of the node
+	 */
+	public void setValue(int x, double v) {
+		access(x); //x diventa la radice del suo splay tree
+		value[x] = v;
+		update(x);
+	}
+
+	/**
+	 * Checks if two nodes are in the same tree; Amortized Cost: O(log n)
+	 * @param x the first node
+	 * @param y the second node
+	 * @return true if the nodes are in the same tree
+	 */
+	public boolean connected(int x, int y) {
+		return x == y || findRoot(x) == findRoot(y);
+	}
+
+	/**
+	 * Links two nodes of different trees with an edge; Amortized Cost: O(log n)
+	 * @param x the first node
+	 * @param y the second node
+	 * @throws IllegalArgumentException if the nodes are in the same tree
+	 */
+	public void link(int x, int y) {
+		makeRoot(x);
+		if (findRoot(y) == x) throw new IllegalArgumentException("nodes " + x + " and " + y + " already connected");
+		parent[x] = y; //x, radice del suo albero, diventa figlio di y
+	}
+
+	/**
+	 * Removes the edge between two nodes; Amortized Cost: O(log n)
+	 * @param x the first node
+	 * @param y the second node
+	 * @throws IllegalArgumentException if the nodes are not adjacent
+	 */
+	public void cut(int x, int y) {
+		makeRoot(x);
+		access(y);
+		//x e y sono adiacenti se x e' l'unico nodo del cammino prima di y
+		if (left[y] != x || right[x] != NONE) throw new IllegalArgumentException("nodes " + x + " and " + y + " not adjacent");
+		left[y] = NONE;
+		parent[x] = NONE;
+		update(y);
+	}
+
+	/**
+	 * Returns the node with maximum value on the path between two nodes (the endpoints
+	 * included); Amortized Cost: O(log n)
+	 * @param x the first endpoint of the path
+	 * @param y the second endpoint of the path
+	 * @return the node with maximum value on the path, or NONE if the nodes are in
+	 * different trees
+	 */
+	public int pathMax(int x, int y) {
+		makeRoot(x);
+		if (findRoot(y) != x) return NONE;
+		access(y); //lo splay tree di y contiene esattamente il cammino da x a y
+		return max[y];
+	}
+
+	/**
+	 * Returns the root of the tree containing a node
+	 * @param x the node
+	 * @return the root of the tree
+	 */
+	protected int findRoot(int x) {
+		access(x);
+		while (true) { //il nodo meno profondo del cammino
+			push(x);
+			if (left[x] == NONE) break;
+			x = left[x];
+		}
+		splay(x);
+		return x;
+	}
+
+	/**
+	 * Makes a node the root of its tree, by reversing the path from the root to the node
+	 * @param x the node
+	 */
+	protected void makeRoot(int x) {
+		access(x);
+		flip(x);
+	}
+
+	/**
+	 * Makes the path from the root of the tree to a node the preferred path, so that the
+	 * node becomes the root of a splay tree containing exactly that path
+	 * @param x the node
+	 */
+	protected void access(int x) {
+		int last = NONE;
+		for (int y = x; y != NONE; y = parent[y]) {
+			splay(y);
+			right[y] = last; //il cammino sotto y diventa quello che arriva a x
+			update(y);
+			last = y;
+		}
+		splay(x);
+	}
+
+	/**
+	 * Moves a node to the root of its splay tree with splay rotations
+	 * @param x the node
+	 */
+	protected void splay(int x) {
+		int top = 0;
+		stack[top++] = x;
+		for (int y = x; !isSplayRoot(y); y = parent[y]) //propaga le inversioni dall'alto
+			stack[top++] = parent[y];
+		while (top > 0)
+			push(stack[--top]);
+		while (!isSplayRoot(x)) {
+			int p = parent[x];
+			if (!isSplayRoot(p)) {
+				int g = parent[p];
+				rotate(((left[g] == p) == (left[p] == x)) ? p : x); //zig-zig o zig-zag
+			}
+			rotate(x);
+		}
+	}
+
+	/**
+	 * Rotates a node with its parent in the splay tree
+	 * @param x the node
+	 */
+	protected void rotate(int x) {
+		int p = parent[x], g = parent[p];
+		if (!isSplayRoot(p)) {
+			if (left[g] == p) left[g] = x;
+			else right[g] = x;
+		}
+		if (left[p] == x) {
+			left[p] = right[x];
+			if (right[x] != NONE) parent[right[x]] = p;
+			right[x] = p;
+		} else {
+			right[p] = left[x];
+			if (left[x] != NONE) parent[left[x]] = p;
+			left[x] = p;
+		}
+		parent[p] = x;
+		parent[x] = g;
+		update(p);
+		update(x);
+	}
+
+	/**
+	 * Checks if a node is the root of its splay tree
+	 * @param x the node
+	 * @return true if the node is the root of its splay tree
+	 */
+	protected boolean isSplayRoot(int x) {
+		int p = parent[x];
+		return p == NONE || (left[p] != x && right[p] != x);
+	}
+
+	/**
+	 * Recomputes the node with maximum value of the splay subtree of a node
+	 * @param x the node
+	 */
+	protected void update(int x) {
+		int m = x, l = left[x], r = right[x];
+		if (l != NONE && value[max[l]] > value[m]) m = max[l];
+		if (r != NONE && value[max[r]] > value[m]) m = max[r];
+		max[x] = m;
+	}
+
+	/**
+	 * Pushes the reversal flag of a node to its children
+	 * @param x the node
+	 */
+	protected void push(int x) {
+		if (reversed[x]) {
+			if (left[x] != NONE) flip(left[x]);
+			if (right[x] != NONE) flip(right[x]);
+			reversed[x] = false;
+		}
+	}
+
+	/**
+	 * Reverses the splay subtree of a node, swapping its children and toggling the
+	 * reversal flag for its descendants
+	 * @param x the node
+	 */
+	protected void flip(int x) {
+		int t = left[x]; left[x] = right[x]; right[x] = t;
+		reversed[x] = !reversed[x];
+	}
+
+}
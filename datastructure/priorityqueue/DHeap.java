@@ -0,0 +1,157 @@
+package datastructure.priorityqueue;
+
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+
+/**
+ * Implementation of a generic Priority Queue data structure composed of nodes of type
+ * DHeapNode, based on a d-ary heap stored in an array: the children of position i are
+ * the positions d*i+1, ..., d*i+d, and each node stores its position, so that
+ * decreaseKey starts the sift directly from the node. The structure works on any
+ * Comparable key; when the keys are doubles and the elements can be numbered
+ * (e.g. the vertexes of a graph) IndexedDHeap performs the same operations without
+ * boxing the keys and allocating the nodes
+ * @param <K> type of the key objects
+ * @param <E> type of the element objects
+ */
+public class DHeap<K extends Comparable<K>, E> implements PriorityQueue<K, E> {
+
+	/** the arity of the heap */
+	protected final int d;
+
+	/** the nodes in heap order */
+	protected ArrayList<DHeapNode<K, E>> heap;
+
+	/**
+	 * Creates an empty heap with the default arity of IndexedDHeap
+	 */
+	public DHeap() {
+		this(IndexedDHeap.DEFAULT_ARITY);
+	}
+
+	/**
+	 * Creates an empty heap with a given arity
+	 * @param arity the number of children of each node of the heap, at least 2
+	 * @throws IllegalArgumentException if the arity is less than 2
+	 */
+	public DHeap(int arity) {
+		if (arity < 2) throw new IllegalArgumentException("arity less than 2");
+		d = arity;
+		heap = new ArrayList<DHeapNode<K, E>>();
+	}
+
+	/**
+	 * Checks if the heap is empty; Cost: O(1)
+	 * @return true if the heap does not contain any node
+	 */
+	public boolean isEmpty() {
+		return heap.isEmpty();
+	}
+
+	/**
+	 * Returns the number of nodes in the heap; Cost: O(1)
+	 * @return the number of nodes
+	 */
+	public int size() {
+		return heap.size();
+	}
+
+	/**
+	 * Inserts a node with a given key and element; Cost: O(log_d n), where n is the
+	 * number of nodes in the heap
+	 * @param key the key of the new node
+	 * @param elem the element of the new node
+	 * @return the inserted node
+	 */
+	public PriorityQueueNode<K, E> insert(K key, E elem) {
+		DHeapNode<K, E> node = new DHeapNode<K, E>(key, elem, heap.size());
+		heap.add(node);
+		siftUp(node);
+		return node;
+	}
+
+	/**
+	 * Returns the element of a node with minimum key; Cost: O(1)
+	 * @return the element with minimum key
+	 * @throws NoSuchElementException if the heap is empty
+	 */
+	public E findMin() {
+		if (heap.isEmpty()) throw new NoSuchElementException("empty heap");
+		return heap.get(0).elem;
+	}
+
+	/**
+	 * Removes a node with minimum key; Cost: O(d log_d n), where n is the number of
+	 * nodes in the heap
+	 * @throws NoSuchElementException if the heap is empty
+	 */
+	public void deleteMin() {
+		if (heap.isEmpty()) throw new NoSuchElementException("empty heap");
+		heap.get(0).index = -1;
+		DHeapNode<K, E> last = heap.remove(heap.size() - 1);
+		if (!heap.isEmpty()) { //l'ultimo nodo scende dalla radice
+			last.index = 0;
+			heap.set(0, last);
+			siftDown(last);
+		}
+	}
+
+	/**
+	 * Decreases the key of a node of the heap; Cost: O(log_d n), where n is the
+	 * number of nodes in the heap
+	 * @param newKey the new key, not greater than the current key of the node
+	 * @param node the node whose key must be decreased
+	 * @throws IllegalArgumentException if the node is not in the heap or the new key
+	 * is greater than the current one
+	 */
+	public void decreaseKey(K newKey, PriorityQueueNode<K, E> node) {
+		DHeapNode<K, E> n = (DHeapNode<K, E>) node;
+		if (n.index < 0 || n.index >= heap.size() || heap.get(n.index) != n)
+			throw new IllegalArgumentException("node not in the heap");
+		if (newKey.compareTo(n.key) > 0) throw new IllegalArgumentException("new key greater than the current key");
+		n.key = newKey;
+		siftUp(n);
+	}
+
+	/**
+	 * Moves a node up while its parent has a greater key
+	 * @param node the node
+	 */
+	protected void siftUp(DHeapNode<K, E> node) {
+		int i = node.index;
+		while (i > 0) {
+			int p = (i - 1) / d;
+			DHeapNode<K, E> parent = heap.get(p);
+			if (parent.key.compareTo(node.key) <= 0) break;
+			parent.index = i; //il padre scende
+			heap.set(i, parent);
+			i = p;
+		}
+		node.index = i;
+		heap.set(i, node);
+	}
+
+	/**
+	 * Moves a node down while one of its children has a smaller key
+	 * @param node the node
+	 */
+	protected void siftDown(DHeapNode<K, E> node) {
+		int i = node.index, size = heap.size();
+		while (true) {
+			int first = d * i + 1;
+			if (first >= size) break;
+			int last = Math.min(first + d, size);
+			DHeapNode<K, E> child = heap.get(first);
+			for (int j = first + 1; j < last; j++) //figlio con chiave minima
+				if (heap.get(j).key.compareTo(child.key) < 0) child = heap.get(j);
+			if (child.key.compareTo(node.key) >= 0) break;
+			heap.set(i, child); //il figlio sale
+			int c = child.index;
+			child.index = i;
+			i = c;
+		}
+		node.index = i;
+		heap.set(i, node);
+	}
+
+}
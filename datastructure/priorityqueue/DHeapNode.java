@@ -0,0 +1,49 @@
+package datastructure.priorityqueue;
+
+/**
+ * Implementation of the node of a generic Priority Queue data structure based on a
+ * d-ary heap. Besides the key and the element, the node stores its current position
+ * in the heap, so that decreaseKey does not need to search it
+ * @param <K> type of the key object
+ * @param <E> type of the element object
+ */
+public class DHeapNode<K extends Comparable<K>, E> implements PriorityQueueNode<K, E> {
+
+	/** the key of the node */
+	protected K key;
+
+	/** the element of the node */
+	protected E elem;
+
+	/** the position of the node in the heap, -1 if the node has been removed */
+	protected int index;
+
+	/**
+	 * Constructs a node object
+	 * @param key the key of the node
+	 * @param elem the element of the node
+	 * @param index the position of the node in the heap
+	 */
+	public DHeapNode(K key, E elem, int index) {
+		this.key = key;
+		this.elem = elem;
+		this.index = index;
+	}
+
+	/**
+	 * Returns the key of the node
+	 * @return the key of the node
+	 */
+	public K getKey() {
+		return key;
+	}
+
+	/**
+	 * Returns the element of the node
+	 * @return the element of the node
+	 */
+	public E getElem() {
+		return elem;
+	}
+
+}
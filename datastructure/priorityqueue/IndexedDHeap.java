@@ -0,0 +1,233 @@
+package datastructure.priorityqueue;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Implementation of an IndexedPriorityQueue based on a d-ary heap stored in primitive
+ * arrays: <code>heap</code> contains the elements in heap order, <code>keys</code> their keys
+ * in the same order (so that the comparisons of a sift read contiguous memory), and
+ * <code>pos</code> the position in the heap of each element (-1 if the element is not in
+ * the heap), which allows decreaseKey to start the sift from the right position.
+ * The children of position i are the positions d*i+1, ..., d*i+d: a larger arity makes the
+ * heap shallower, so insert and decreaseKey are cheaper while deleteMin compares more
+ * children per level (arities 2, 4 and 8 are the usual choices; 4 is the default).
+ * No object is allocated by the operations
+ */
+public class IndexedDHeap implements IndexedPriorityQueue {
+
+	/** the default arity of the heap */
+	public static final int DEFAULT_ARITY = 4;
+
+	/** the arity of the heap */
+	protected final int d;
+
+	/** the elements in heap order */
+	protected int[] heap;
+
+	/** the keys of the elements, in heap order */
+	protected double[] keys;
+
+	/** the position in the heap of each element, -1 if the element is not in the heap */
+	protected int[] pos;
+
+	/** the number of elements in the heap */
+	protected int size;
+
+	/**
+	 * Creates an empty heap with the default arity
+	 * @param capacity the number of elements: the elements are the integers in [0,capacity)
+	 */
+	public IndexedDHeap(int capacity) {
+		this(capacity, DEFAULT_ARITY);
+	}
+
+	/**
+	 * Creates an empty heap with a given arity
+	 * @param capacity the number of elements: the elements are the integers in [0,capacity)
+	 * @param arity the number of children of each node of the heap, at least 2
+	 * @throws IllegalArgumentException if the arity is less than 2
+	 */
+	public IndexedDHeap(int capacity, int arity) {
+		if (arity < 2) throw new IllegalArgumentException("arity less than 2");
+		d = arity;
+		heap = new int[capacity];
+		keys = new double[capacity];
+		pos = new int[capacity];
+		Arrays.fill(pos, -1);
+		size = 0;
+	}
+
+	/**
+	 * Returns the arity of the heap
+	 * @return the arity of the heap
+	 */
+	public int arity() {
+		return d;
+	}
+
+	/**
+	 * Returns the number of elements that can be inserted in the heap
+	 * @return the capacity of the heap
+	 */
+	public int capacity() {
+		return pos.length;
+	}
+
+	/**
+	 * Checks if the heap is empty; Cost: O(1)
+	 * @return true if the heap does not contain any element
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns the number of elements in the heap; Cost: O(1)
+	 * @return the number of elements
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Checks if an element is in the heap; Cost: O(1)
+	 * @param elem the element
+	 * @return true if the element is in the heap
+	 */
+	public boolean contains(int elem) {
+		return pos[elem] >= 0;
+	}
+
+	/**
+	 * Returns the key of an element of the heap; Cost: O(1)
+	 * @param elem the element, which must be in the heap
+	 * @return the key of the element
+	 * @throws IllegalArgumentException if the element is not in the heap
+	 */
+	public double key(int elem) {
+		if (pos[elem] < 0) throw new IllegalArgumentException("element " + elem + " not in the heap");
+		return keys[pos[elem]];
+	}
+
+	/**
+	 * Inserts an element with a given key; Cost: O(log_d n), where n is the number
+	 * of elements in the heap
+	 * @param elem the element, which must not be in the heap
+	 * @param key the key of the element
+	 * @throws IllegalArgumentException if the element is already in the heap
+	 */
+	public void insert(int elem, double key) {
+		if (pos[elem] >= 0) throw new IllegalArgumentException("element " + elem + " already in the heap");
+		siftUp(size++, elem, key);
+	}
+
+	/**
+	 * Returns an element with minimum key; Cost: O(1)
+	 * @return the element with minimum key
+	 * @throws NoSuchElementException if the heap is empty
+	 */
+	public int findMin() {
+		if (size == 0) throw new NoSuchElementException("empty heap");
+		return heap[0];
+	}
+
+	/**
+	 * Returns the minimum key; Cost: O(1)
+	 * @return the minimum key
+	 * @throws NoSuchElementException if the heap is empty
+	 */
+	public double minKey() {
+		if (size == 0) throw new NoSuchElementException("empty heap");
+		return keys[0];
+	}
+
+	/**
+	 * Removes an element with minimum key and returns it; Cost: O(d log_d n), where n
+	 * is the number of elements in the heap
+	 * @return the removed element
+	 * @throws NoSuchElementException if the heap is empty
+	 */
+	public int deleteMin() {
+		if (size == 0) throw new NoSuchElementException("empty heap");
+		int min = heap[0];
+		pos[min] = -1;
+		if (--size > 0)
+			siftDown(0, heap[size], keys[size]); //l'ultimo elemento scende dalla radice
+		return min;
+	}
+
+	/**
+	 * Decreases the key of an element of the heap; Cost: O(log_d n), where n is the
+	 * number of elements in the heap
+	 * @param elem the element, which must be in the heap
+	 * @param newKey the new key, not greater than the current key of the element
+	 * @throws IllegalArgumentException if the element is not in the heap or the new key
+	 * is greater than the current one
+	 */
+	public void decreaseKey(int elem, double newKey) {
+		int i = pos[elem];
+		if (i < 0) throw new IllegalArgumentException("element " + elem + " not in the heap");
+		if (newKey > keys[i]) throw new IllegalArgumentException("new key greater than the current key");
+		siftUp(i, elem, newKey);
+	}
+
+	/**
+	 * Removes all the elements from the heap; Cost: O(n), where n is the number of
+	 * elements in the heap
+	 */
+	public void clear() {
+		for (int i = 0; i < size; i++)
+			pos[heap[i]] = -1;
+		size = 0;
+	}
+
+	/**
+	 * Places an element in a free position of the heap or in a position above it,
+	 * moving down its ancestors with a greater key
+	 * @param i the free position
+	 * @param elem the element
+	 * @param key the key of the element
+	 */
+	protected void siftUp(int i, int elem, double key) {
+		while (i > 0) {
+			int p = (i - 1) / d;
+			if (keys[p] <= key) break;
+			heap[i] = heap[p]; //il padre scende
+			keys[i] = keys[p];
+			pos[heap[i]] = i;
+			i = p;
+		}
+		heap[i] = elem;
+		keys[i] = key;
+		pos[elem] = i;
+	}
+
+	/**
+	 * Places an element in a free position of the heap or in a position below it,
+	 * moving up its descendants with a smaller key
+	 * @param i the free position
+	 * @param elem the element
+	 * @param key the key of the element
+	 */
+	protected void siftDown(int i, int elem, double key) {
+		while (true) {
+			int first = d * i + 1;
+			if (first >= size) break;
+			int last = Math.min(first + d, size);
+			int c = first;
+			double kc = keys[first];
+			for (int j = first + 1; j < last; j++) //figlio con chiave minima
+				if (keys[j] < kc) { c = j; kc = keys[j]; }
+			if (kc >= key) break;
+			heap[i] = heap[c]; //il figlio sale
+			keys[i] = kc;
+			pos[heap[i]] = i;
+			i = c;
+		}
+		heap[i] = elem;
+		keys[i] = key;
+		pos[elem] = i;
+	}
+
+}
@@ -0,0 +1,314 @@
+package datastructure.priorityqueue;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Implementation of an IndexedPriorityQueue based on a Fibonacci heap stored in
+ * primitive arrays. The heap is a collection of trees whose roots form a circular
+ * doubly linked list (<code>left</code>, <code>right</code>), as do the children of each
+ * node; <code>min</code> is the root with minimum key. Insert adds a new root, deleteMin
+ * moves the children of the minimum to the root list and consolidates the roots, linking
+ * the trees with the same degree, and decreaseKey cuts the element from its parent,
+ * cutting also the ancestors that already lost a child (cascading cut), so that the
+ * degree of the nodes stays logarithmic. Insert and decreaseKey have an amortized cost
+ * of O(1), deleteMin of O(log n): Prim runs in O(m + n log n), at the price of larger
+ * constant factors than the other heaps
+ */
+public class IndexedFibonacciHeap implements IndexedPriorityQueue {
+
+	/** the value of the links to no element */
+	protected static final int NONE = -1;
+
+	/** the maximal degree of a node (the degree is less than log_phi n) */
+	protected static final int MAX_DEGREE = 64;
+
+	/** the keys of the elements */
+	protected double[] key;
+
+	/** the parent of each element */
+	protected int[] parent;
+
+	/** a child of each element */
+	protected int[] child;
+
+	/** the siblings of each element in a circular list */
+	protected int[] left, right;
+
+	/** the number of children of each element */
+	protected int[] degree;
+
+	/** the flags of the elements that lost a child since they became children */
+	protected boolean[] mark;
+
+	/** the flags of the elements in the heap */
+	protected boolean[] in;
+
+	/** the roots examined by the consolidation */
+	protected int[] roots;
+
+	/** the roots of the consolidation, by degree */
+	protected int[] byDegree;
+
+	/** the root with minimum key */
+	protected int min;
+
+	/** the number of elements in the heap */
+	protected int size;
+
+	/**
+	 * Creates an empty heap
+	 * @param capacity the number of elements: the elements are the integers in [0,capacity)
+	 */
+	public IndexedFibonacciHeap(int capacity) {
+		key = new double[capacity];
+		parent = new int[capacity];
+		child = new int[capacity];
+		left = new int[capacity];
+		right = new int[capacity];
+		degree = new int[capacity];
+		mark = new boolean[capacity];
+		in = new boolean[capacity];
+		roots = new int[capacity];
+		byDegree = new int[MAX_DEGREE];
+		Arrays.fill(byDegree, NONE);
+		min = NONE;
+		size = 0;
+	}
+
+	/**
+	 * Returns the number of elements that can be inserted in the heap
+	 * @return the capacity of the heap
+	 */
+	public int capacity() {
+		return in.length;
+	}
+
+	/**
+	 * Checks if the heap is empty; Cost: O(1)
+	 * @return true if the heap does not contain any element
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns the number of elements in the heap; Cost: O(1)
+	 * @return the number of elements
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Checks if an element is in the heap; Cost: O(1)
+	 * @param elem the element
+	 * @return true if the element is in the heap
+	 */
+	public boolean contains(int elem) {
+		return in[elem];
+	}
+
+	/**
+	 * Returns the key of an element of the heap; Cost: O(1)
+	 * @param elem the element, which must be in the heap
+	 * @return the key of the element
+	 * @throws IllegalArgumentException if the element is not in the heap
+	 */
+	public double key(int elem) {
+		if (!in[elem]) throw new IllegalArgumentException("element " + elem + " not in the heap");
+		return key[elem];
+	}
+
+	/**
+	 * Inserts an element with a given key; Cost: O(1)
+	 * @param elem the element, which must not be in the heap
+	 * @param key the key of the element
+	 * @throws IllegalArgumentException if the element is already in the heap
+	 */
+	public void insert(int elem, double key) {
+		if (in[elem]) throw new IllegalArgumentException("element " + elem + " already in the heap");
+		in[elem] = true;
+		this.key[elem] = key;
+		parent[elem] = child[elem] = NONE;
+		degree[elem] = 0;
+		mark[elem] = false;
+		left[elem] = right[elem] = elem;
+		addRoot(elem);
+		size++;
+	}
+
+	/**
+	 * Returns an element with minimum key; Cost: O(1)
+	 * @return the element with minimum key
+	 * @throws NoSuchElementException if the heap is empty
+	 */
+	public int findMin() {
+		if (size == 0) throw new NoSuchElementException("empty heap");
+		return min;
+	}
+
+	/**
+	 * Returns the minimum key; Cost: O(1)
+	 * @return the minimum key
+	 * @throws NoSuchElementException if the heap is empty
+	 */
+	public double minKey() {
+		if (size == 0) throw new NoSuchElementException("empty heap");
+		return key[min];
+	}
+
+	/**
+	 * Removes an element with minimum key and returns it; Amortized Cost: O(log n),
+	 * where n is the number of elements in the heap
+	 * @return the removed element
+	 * @throws NoSuchElementException if the heap is empty
+	 */
+	public int deleteMin() {
+		if (size == 0) throw new NoSuchElementException("empty heap");
+		int z = min;
+		in[z] = false;
+		size--;
+		int start = (right[z] == z) ? NONE : right[z]; //lista delle radici senza z
+		unlink(z);
+		int c = child[z];
+		if (c != NONE) { //i figli di z diventano radici
+			int x = c;
+			do {
+				parent[x] = NONE;
+				mark[x] = false;
+				x = right[x];
+			} while (x != c);
+			if (start == NONE) start = c;
+			else splice(start, c);
+			child[z] = NONE;
+		}
+		min = NONE;
+		if (start != NONE) consolidate(start);
+		return z;
+	}
+
+	/**
+	 * Decreases the key of an element of the heap; Amortized Cost: O(1)
+	 * @param elem the element, which must be in the heap
+	 * @param newKey the new key, not greater than the current key of the element
+	 * @throws IllegalArgumentException if the element is not in the heap or the new key
+	 * is greater than the current one
+	 */
+	public void decreaseKey(int elem, double newKey) {
+		if (!in[elem]) throw new IllegalArgumentException("element " + elem + " not in the heap");
+		if (newKey > key[elem]) throw new IllegalArgumentException("new key greater than the current key");
+		key[elem] = newKey;
+		int p = parent[elem];
+		if (p != NONE && newKey < key[p]) {
+			cut(elem, p);
+			while ((elem = p) != NONE && (p = parent[elem]) != NONE) { //taglio a cascata
+				if (!mark[elem]) {
+					mark[elem] = true;
+					break;
+				}
+				cut(elem, p);
+			}
+		}
+		else if (newKey < key[min]) min = elem;
+	}
+
+	/**
+	 * Removes all the elements from the heap; Cost: O(c), where c is the capacity of the heap
+	 */
+	public void clear() {
+		Arrays.fill(in, false);
+		min = NONE;
+		size = 0;
+	}
+
+	/**
+	 * Adds a single element to the root list, updating the minimum
+	 * @param x the element
+	 */
+	protected void addRoot(int x) {
+		if (min == NONE) {
+			min = x;
+			return;
+		}
+		splice(min, x);
+		if (key[x] < key[min]) min = x;
+	}
+
+	/**
+	 * Cuts an element from its parent, moving it to the root list
+	 * @param x the element
+	 * @param p the parent of the element
+	 */
+	protected void cut(int x, int p) {
+		if (right[x] == x) child[p] = NONE;
+		else if (child[p] == x) child[p] = right[x];
+		unlink(x);
+		degree[p]--;
+		parent[x] = NONE;
+		mark[x] = false;
+		addRoot(x);
+	}
+
+	/**
+	 * Links the roots with the same degree until all the roots have different degrees,
+	 * and finds the new minimum
+	 * @param start a root of the root list
+	 */
+	protected void consolidate(int start) {
+		int cnt = 0, x = start;
+		do { //le radici vengono copiate perché la lista cambia durante i collegamenti
+			roots[cnt++] = x;
+			x = right[x];
+		} while (x != start);
+		int maxDegree = 0;
+		for (int i = 0; i < cnt; i++) {
+			x = roots[i];
+			int d = degree[x];
+			while (byDegree[d] != NONE) {
+				int y = byDegree[d];
+				byDegree[d] = NONE;
+				if (key[y] < key[x]) { int t = x; x = y; y = t; }
+				unlink(y); //y diventa figlio di x
+				parent[y] = x;
+				mark[y] = false;
+				if (child[x] == NONE) child[x] = y;
+				else splice(child[x], y);
+				degree[x] = ++d;
+			}
+			byDegree[d] = x;
+			if (d > maxDegree) maxDegree = d;
+		}
+		min = NONE;
+		for (int d = 0; d <= maxDegree; d++) { //nuovo minimo tra le radici rimaste
+			x = byDegree[d];
+			if (x == NONE) continue;
+			byDegree[d] = NONE;
+			if (min == NONE || key[x] < key[min]) min = x;
+		}
+	}
+
+	/**
+	 * Removes an element from its circular list, leaving it in a list by itself
+	 * @param x the element
+	 */
+	protected void unlink(int x) {
+		right[left[x]] = right[x];
+		left[right[x]] = left[x];
+		left[x] = right[x] = x;
+	}
+
+	/**
+	 * Concatenates two disjoint circular lists
+	 * @param a an element of the first list
+	 * @param b an element of the second list
+	 */
+	protected void splice(int a, int b) {
+		int an = right[a], bp = left[b];
+		right[a] = b;
+		left[b] = a;
+		right[bp] = an;
+		left[an] = bp;
+	}
+
+}
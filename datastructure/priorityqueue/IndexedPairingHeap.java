@@ -0,0 +1,223 @@
+package datastructure.priorityqueue;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Implementation of an IndexedPriorityQueue based on a pairing heap stored in primitive
+ * arrays. The heap is a single tree in which the key of each node is not smaller than
+ * the key of its parent; the children of a node form a list, linked by <code>next</code>,
+ * whose first element is <code>child</code> of the node, while <code>prev</code> is the
+ * parent for the first child and the previous sibling for the others.
+ * Two trees are melded by linking the root with the greater key as first child of the
+ * other root; deleteMin removes the root and melds its children with the two-pass
+ * method (pairs from left to right, then the results from right to left), and
+ * decreaseKey cuts the subtree of the element and melds it with the root.
+ * Insert and decreaseKey cost O(1) (decreaseKey has an amortized cost of o(log n)),
+ * deleteMin has an amortized cost of O(log n): on dense graphs, where decreaseKey
+ * dominates, this is usually the fastest heap in practice
+ */
+public class IndexedPairingHeap implements IndexedPriorityQueue {
+
+	/** the value of the links to no element */
+	protected static final int NONE = -1;
+
+	/** the keys of the elements */
+	protected double[] key;
+
+	/** the first child of each element */
+	protected int[] child;
+
+	/** the next sibling of each element */
+	protected int[] next;
+
+	/** the previous sibling of each element, or its parent if the element is a first child */
+	protected int[] prev;
+
+	/** the flags of the elements in the heap */
+	protected boolean[] in;
+
+	/** the roots of the trees melded by deleteMin */
+	protected int[] pairs;
+
+	/** the root of the heap */
+	protected int root;
+
+	/** the number of elements in the heap */
+	protected int size;
+
+	/**
+	 * Creates an empty heap
+	 * @param capacity the number of elements: the elements are the integers in [0,capacity)
+	 */
+	public IndexedPairingHeap(int capacity) {
+		key = new double[capacity];
+		child = new int[capacity];
+		next = new int[capacity];
+		prev = new int[capacity];
+		in = new boolean[capacity];
+		pairs = new int[capacity];
+		root = NONE;
+		size = 0;
+	}
+
+	/**
+	 * Returns the number of elements that can be inserted in the heap
+	 * @return the capacity of the heap
+	 */
+	public int capacity() {
+		return in.length;
+	}
+
+	/**
+	 * Checks if the heap is empty; Cost: O(1)
+	 * @return true if the heap does not contain any element
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns the number of elements in the heap; Cost: O(1)
+	 * @return the number of elements
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Checks if an element is in the heap; Cost: O(1)
+	 * @param elem the element
+	 * @return true if the element is in the heap
+	 */
+	public boolean contains(int elem) {
+		return in[elem];
+	}
+
+	/**
+	 * Returns the key of an element of the heap; Cost: O(1)
+	 * @param elem the element, which must be in the heap
+	 * @return the key of the element
+	 * @throws IllegalArgumentException if the element is not in the heap
+	 */
+	public double key(int elem) {
+		if (!in[elem]) throw new IllegalArgumentException("element " + elem + " not in the heap");
+		return key[elem];
+	}
+
+	/**
+	 * Inserts an element with a given key; Cost: O(1)
+	 * @param elem the element, which must not be in the heap
+	 * @param key the key of the element
+	 * @throws IllegalArgumentException if the element is already in the heap
+	 */
+	public void insert(int elem, double key) {
+		if (in[elem]) throw new IllegalArgumentException("element " + elem + " already in the heap");
+		in[elem] = true;
+		this.key[elem] = key;
+		child[elem] = next[elem] = prev[elem] = NONE;
+		root = (root == NONE) ? elem : link(root, elem);
+		size++;
+	}
+
+	/**
+	 * Returns an element with minimum key; Cost: O(1)
+	 * @return the element with minimum key
+	 * @throws NoSuchElementException if the heap is empty
+	 */
+	public int findMin() {
+		if (size == 0) throw new NoSuchElementException("empty heap");
+		return root;
+	}
+
+	/**
+	 * Returns the minimum key; Cost: O(1)
+	 * @return the minimum key
+	 * @throws NoSuchElementException if the heap is empty
+	 */
+	public double minKey() {
+		if (size == 0) throw new NoSuchElementException("empty heap");
+		return key[root];
+	}
+
+	/**
+	 * Removes an element with minimum key and returns it; Amortized Cost: O(log n),
+	 * where n is the number of elements in the heap
+	 * @return the removed element
+	 * @throws NoSuchElementException if the heap is empty
+	 */
+	public int deleteMin() {
+		if (size == 0) throw new NoSuchElementException("empty heap");
+		int min = root;
+		in[min] = false;
+		size--;
+		int c = child[min];
+		child[min] = NONE;
+		int cnt = 0;
+		while (c != NONE) { //prima passata: fonde i figli a coppie da sinistra a destra
+			int a = c, b = next[a];
+			if (b == NONE) {
+				next[a] = prev[a] = NONE;
+				pairs[cnt++] = a;
+				break;
+			}
+			c = next[b];
+			next[a] = prev[a] = next[b] = prev[b] = NONE;
+			pairs[cnt++] = link(a, b);
+		}
+		root = NONE;
+		if (cnt > 0) { //seconda passata: fonde i risultati da destra a sinistra
+			root = pairs[cnt - 1];
+			for (int i = cnt - 2; i >= 0; i--)
+				root = link(pairs[i], root);
+		}
+		return min;
+	}
+
+	/**
+	 * Decreases the key of an element of the heap; Amortized Cost: o(log n), where n is
+	 * the number of elements in the heap (O(1) in practice)
+	 * @param elem the element, which must be in the heap
+	 * @param newKey the new key, not greater than the current key of the element
+	 * @throws IllegalArgumentException if the element is not in the heap or the new key
+	 * is greater than the current one
+	 */
+	public void decreaseKey(int elem, double newKey) {
+		if (!in[elem]) throw new IllegalArgumentException("element " + elem + " not in the heap");
+		if (newKey > key[elem]) throw new IllegalArgumentException("new key greater than the current key");
+		key[elem] = newKey;
+		if (elem == root) return;
+		int p = prev[elem];
+		if (next[elem] != NONE) prev[next[elem]] = p; //stacca il sottoalbero di elem
+		if (child[p] == elem) child[p] = next[elem];
+		else next[p] = next[elem];
+		next[elem] = prev[elem] = NONE;
+		root = link(root, elem); //e lo fonde con la radice
+	}
+
+	/**
+	 * Removes all the elements from the heap; Cost: O(c), where c is the capacity of the heap
+	 */
+	public void clear() {
+		Arrays.fill(in, false);
+		root = NONE;
+		size = 0;
+	}
+
+	/**
+	 * Melds two trees, making the root with the greater key the first child of the other
+	 * @param a the root of the first tree
+	 * @param b the root of the second tree
+	 * @return the root of the melded tree
+	 */
+	protected int link(int a, int b) {
+		if (key[b] < key[a]) { int t = a; a = b; b = t; }
+		int c = child[a];
+		next[b] = c;
+		if (c != NONE) prev[c] = b;
+		prev[b] = a;
+		child[a] = b;
+		return a;
+	}
+
+}
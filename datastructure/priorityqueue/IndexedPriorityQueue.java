@@ -0,0 +1,88 @@
+package datastructure.priorityqueue;
+
+/**
+ * Interface for a Priority Queue data structure specialised for primitive types:
+ * the elements are the integers 0, 1, ..., capacity-1 (e.g. the indexes of the
+ * vertexes of a graph), used as handles of their nodes, and the keys are doubles.
+ * Since the elements are their own handles, no node object is created
+ */
+public interface IndexedPriorityQueue {
+
+	/**
+	 * Returns the number of elements that can be inserted in the priority queue:
+	 * the elements are the integers in [0,capacity)
+	 * @return the capacity of the priority queue
+	 */
+	public int capacity();
+
+	/**
+	 * Checks if the priority queue is empty
+	 * @return true if the priority queue does not contain any element
+	 */
+	public boolean isEmpty();
+
+	/**
+	 * Returns the number of elements in the priority queue
+	 * @return the number of elements
+	 */
+	public int size();
+
+	/**
+	 * Checks if an element is in the priority queue
+	 * @param elem the element
+	 * @return true if the element is in the priority queue
+	 */
+	public boolean contains(int elem);
+
+	/**
+	 * Returns the key of an element of the priority queue
+	 * @param elem the element, which must be in the priority queue
+	 * @return the key of the element
+	 * @throws IllegalArgumentException if the element is not in the priority queue
+	 */
+	public double key(int elem);
+
+	/**
+	 * Inserts an element with a given key
+	 * @param elem the element, which must not be in the priority queue
+	 * @param key the key of the element
+	 * @throws IllegalArgumentException if the element is already in the priority queue
+	 */
+	public void insert(int elem, double key);
+
+	/**
+	 * Returns an element with minimum key
+	 * @return the element with minimum key
+	 * @throws java.util.NoSuchElementException if the priority queue is empty
+	 */
+	public int findMin();
+
+	/**
+	 * Returns the minimum key
+	 * @return the minimum key
+	 * @throws java.util.NoSuchElementException if the priority queue is empty
+	 */
+	public double minKey();
+
+	/**
+	 * Removes an element with minimum key and returns it
+	 * @return the removed element
+	 * @throws java.util.NoSuchElementException if the priority queue is empty
+	 */
+	public int deleteMin();
+
+	/**
+	 * Decreases the key of an element of the priority queue
+	 * @param elem the element, which must be in the priority queue
+	 * @param newKey the new key, not greater than the current key of the element
+	 * @throws IllegalArgumentException if the element is not in the priority queue or
+	 * the new key is greater than the current one
+	 */
+	public void decreaseKey(int elem, double newKey);
+
+	/**
+	 * Removes all the elements from the priority queue
+	 */
+	public void clear();
+
+}
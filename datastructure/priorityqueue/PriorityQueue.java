@@ -0,0 +1,53 @@
+package datastructure.priorityqueue;
+
+/**
+ * Interface for a generic Priority Queue data structure composed of nodes of type
+ * PriorityQueueNode containing <code>elem</code> objects ordered by <code>key</code>
+ * objects (the minimum key has the highest priority)
+ * @param <K> type of the key objects
+ * @param <E> type of the element objects
+ */
+public interface PriorityQueue<K extends Comparable<K>, E> {
+
+	/**
+	 * Checks if the priority queue is empty
+	 * @return true if the priority queue does not contain any node
+	 */
+	public boolean isEmpty();
+
+	/**
+	 * Returns the number of nodes in the priority queue
+	 * @return the number of nodes
+	 */
+	public int size();
+
+	/**
+	 * Inserts a node with a given key and element
+	 * @param key the key of the new node
+	 * @param elem the element of the new node
+	 * @return the inserted node
+	 */
+	public PriorityQueueNode<K, E> insert(K key, E elem);
+
+	/**
+	 * Returns the element of a node with minimum key
+	 * @return the element with minimum key
+	 * @throws java.util.NoSuchElementException if the priority queue is empty
+	 */
+	public E findMin();
+
+	/**
+	 * Removes a node with minimum key
+	 * @throws java.util.NoSuchElementException if the priority queue is empty
+	 */
+	public void deleteMin();
+
+	/**
+	 * Decreases the key of a node of the priority queue
+	 * @param newKey the new key, not greater than the current key of the node
+	 * @param node the node whose key must be decreased
+	 * @throws IllegalArgumentException if the new key is greater than the current one
+	 */
+	public void decreaseKey(K newKey, PriorityQueueNode<K, E> node);
+
+}
@@ -0,0 +1,23 @@
+package datastructure.priorityqueue;
+
+/**
+ * Interface for the node of a generic Priority Queue data structure
+ * containing <code>elem</code> objects ordered by <code>key</code> objects
+ * @param <K> type of the key object
+ * @param <E> type of the element object
+ */
+public interface PriorityQueueNode<K extends Comparable<K>, E> {
+
+	/**
+	 * Returns the key of the node
+	 * @return the key of the node
+	 */
+	public K getKey();
+
+	/**
+	 * Returns the element of the node
+	 * @return the element of the node
+	 */
+	public E getElem();
+
+}
@@ -0,0 +1,144 @@
+package datastructure.unionfind;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Implementation of a thread-safe Union Find data structure over the integers
+ * 0, 1, ..., n-1 based on Quick Union, which can be used by many threads at the
+ * same time without any lock. The parent pointers are stored in an AtomicIntegerArray
+ * and are only modified with compare-and-set operations:
+ * <ul>
+ * <li> find follows the sequence of linked parents using path halving, where each
+ * shortcut is installed with a compare-and-set that is simply skipped if it fails,
+ * so that find never waits for other threads;
+ * <li> union uses randomized linking: each element receives a distinct random priority
+ * and the representative with smaller priority is made child of the other one with a
+ * compare-and-set, which is repeated (after a new find) if the representative has been
+ * linked in the meanwhile by another thread.
+ * </ul>
+ * Since the priorities strictly increase along every sequence of linked parents, the
+ * expected length of such sequences is O(log n) and the structure never contains cycles
+ */
+public class ConcurrentUnionFind implements IntUnionFind {
+
+	/** the parent of each element; a representative is parent of itself */
+	protected AtomicIntegerArray parent;
+
+	/** the random priority of each element (a permutation of 0, ..., n-1) */
+	protected int[] priority;
+
+	/**
+	 * Creates an union find structure with n singletons and random priorities
+	 * @param n the number of elements
+	 */
+	public ConcurrentUnionFind(int n) {
+		this(n, new SplittableRandom().nextLong());
+	}
+
+	/**
+	 * Creates an union find structure with n singletons and priorities generated
+	 * from a given seed
+	 * @param n the number of elements
+	 * @param seed the seed used to generate the priorities
+	 */
+	public ConcurrentUnionFind(int n, long seed) {
+		parent = new AtomicIntegerArray(n);
+		priority = new int[n];
+		for (int i = 0; i < n; i++) {
+			parent.set(i, i);
+			priority[i] = i;
+		}
+		SplittableRandom rnd = new SplittableRandom(seed);
+		for (int i = n - 1; i > 0; i--) { //permutazione casuale delle priorita'
+			int j = rnd.nextInt(i + 1);
+			int t = priority[i]; priority[i] = priority[j]; priority[j] = t;
+		}
+	}
+
+	/**
+	 * Returns the number of elements in the structure; Cost: O(1)
+	 * @return the number of elements
+	 */
+	public int size() {
+		return parent.length();
+	}
+
+	/**
+	 * Performs the union of the sets containing two elements, by making the representative
+	 * with smaller priority child of the other one (if the elements already belong to the
+	 * same set nothing is done). It can be called concurrently with other unions and finds;
+	 * Expected Cost: O(log n) without contention, where n is the number of elements
+	 * @param x an element of the first set
+	 * @param y an element of the second set
+	 * @return true if the two sets were disjoint and have been merged by this call
+	 */
+	public boolean union(int x, int y) {
+		while (true) {
+			int rx = find(x);
+			int ry = find(y);
+			if (rx == ry) return false;
+			if (priority[rx] > priority[ry]) { //rx diventa figlio di ry
+				int t = rx; rx = ry; ry = t;
+			}
+			if (parent.compareAndSet(rx, rx, ry))
+				return true;
+			//rx e' stato collegato da un altro thread: riprova dai nuovi rappresentanti
+			x = rx; y = ry;
+		}
+	}
+
+	/**
+	 * Returns the representative of the set to which an element belongs to, by
+	 * following the sequence of linked parents and trying to make every other element
+	 * child of its grandparent (path halving). It can be called concurrently with
+	 * other unions and finds: the returned element was a representative at some
+	 * point during the call; Expected Cost: O(log n), where n is the number of elements
+	 * @param x the element to consider
+	 * @return the representative of the set to which the element belongs to
+	 */
+	public int find(int x) {
+		int p = parent.get(x);
+		while (p != x) {
+			int gp = parent.get(p);
+			if (gp == p) return p; //p e' il rappresentante
+			parent.compareAndSet(x, p, gp); //collega x al nonno (se nessuno lo ha cambiato)
+			x = gp;
+			p = parent.get(x);
+		}
+		return x;
+	}
+
+	/**
+	 * Checks whether two elements belong to the same set. Differently from comparing
+	 * the results of two finds, the answer is consistent even if other threads are
+	 * performing unions at the same time; Expected Cost: O(log n) without contention
+	 * @param x the first element
+	 * @param y the second element
+	 * @return true if the two elements belong to the same set
+	 */
+	public boolean connected(int x, int y) {
+		while (true) {
+			int rx = find(x);
+			int ry = find(y);
+			if (rx == ry) return true;
+			if (parent.get(rx) == rx) return false; //rx ancora rappresentante: set distinti
+			x = rx; y = ry;
+		}
+	}
+
+	/**
+	 * Returns a printable string representation of Union Find structure.
+	 * For each element prints the corresponding representative.
+	 * Cost O(n log n), where n is the number of elements in the structure
+	 * @return string representation of the Union Find structure
+	 */
+	@Override
+	public String toString() {
+		StringBuilder S = new StringBuilder(parent.length()*10);
+		for (int i=0; i<parent.length(); i++)
+			S.append(i).append(" - ").append(find(i)).append("\n");
+		return S.toString();
+	}
+
+}
@@ -0,0 +1,265 @@
+package datastructure.unionfind;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+
+/**
+ * Union Find data structure decorating another UnionFind (QuickFind, QuickFindSize,
+ * QuickUnion, QuickUnionRank or a subclass) in order to measure its behaviour on a real
+ * workload. The operations are delegated to the decorated structure, whose nodes are
+ * returned unchanged, and the decorator records:
+ * <ul>
+ * <li> the number of makeSet, union and find calls, and the number of unions that
+ * actually merged two sets;
+ * <li> the histogram of the find path lengths, i.e. the number of parent pointers between
+ * a node and its representative (for the Quick Find structures it is 0 for the head of a
+ * list and 1 for the other nodes, which point to the head through the root);
+ * <li> for the Quick Find structures, the histogram of the relabel counts of the unions,
+ * i.e. the number of nodes whose root pointer is updated by the loop on the absorbed list;
+ * <li> the maximum height of the sets (the height of the trees for the Quick Union
+ * structures, at most 1 for the Quick Find ones) and the merges at which it grew.
+ * </ul>
+ * The histograms have logarithmic buckets: bucket 0 counts the value 0 and bucket b &gt; 0
+ * counts the values in [2<sup>b-1</sup>, 2<sup>b</sup>).
+ * The size and height of each set are kept in a map on the representatives, and each find
+ * on a Quick Union structure follows the path twice (once to measure it), so the decorator
+ * is meant for measurements and not for production runs. A Kruskal computation using it
+ * reports the metrics to MSTRecorder, e.g.
+ * <pre>
+ * new Kruskal&lt;D&gt;(() -&gt; new InstrumentedUnionFind&lt;D&gt;(new QuickUnion&lt;D&gt;()))
+ * </pre>
+ * @param <D> type of the data object
+ */
+public class InstrumentedUnionFind<D> implements UnionFind<D> {
+
+	/** the number of buckets of the histograms */
+	public static final int BUCKETS = 32;
+
+	/** the decorated structure */
+	protected UnionFind<D> uf;
+
+	/** true if the decorated structure is a Quick Union (trees of parent pointers) */
+	protected boolean trees;
+
+	/** the size and the height of the set of each representative */
+	protected IdentityHashMap<UnionFindNode<D>, int[]> sets = new IdentityHashMap<UnionFindNode<D>, int[]>();
+
+	/** the operation counters */
+	protected long makeSets, unions, merges, finds;
+
+	/** the histogram of the find path lengths */
+	protected long[] findPaths = new long[BUCKETS];
+
+	/** the histogram of the relabel counts of the Quick Find unions */
+	protected long[] relabels = new long[BUCKETS];
+
+	/** the total find path length and relabel count */
+	protected long findPathTotal, relabelTotal;
+
+	/** the maximum height of the sets */
+	protected int height;
+
+	/** the number of merges and the new maximum height at each growth of the height */
+	protected ArrayList<long[]> heightHistory = new ArrayList<long[]>();
+
+	/**
+	 * Creates a decorator measuring a given union find structure, which must be empty
+	 * @param uf the union find structure to measure
+	 * @throws IllegalArgumentException if the structure is not a QuickFind or a QuickUnion
+	 */
+	public InstrumentedUnionFind(UnionFind<D> uf) {
+		if (!(uf instanceof QuickFind || uf instanceof QuickUnion))
+			throw new IllegalArgumentException("unsupported union find structure");
+		this.uf = uf;
+		this.trees = uf instanceof QuickUnion;
+	}
+
+	/**
+	 * Returns the decorated structure
+	 * @return the decorated union find structure
+	 */
+	public UnionFind<D> getUnionFind() {
+		return uf;
+	}
+
+	/**
+	 * Inserts a node with a given data object in the decorated structure; Cost: O(1)
+	 * plus the cost of the decorated makeSet
+	 * @param data data to insert
+	 * @return the inserted node
+	 */
+	public UnionFindNode<D> makeSet(D data) {
+		makeSets++;
+		UnionFindNode<D> n = uf.makeSet(data);
+		sets.put(n, new int[] { 1, 0 });
+		return n;
+	}
+
+	/**
+	 * Performs the union of two sets in the decorated structure, recording the relabel
+	 * count and the height of the new set; Cost: O(1) plus the cost of the decorated union
+	 * @param node1 the representative of the first set
+	 * @param node2 the representative of the second set
+	 */
+	public void union(UnionFindNode<D> node1, UnionFindNode<D> node2) {
+		unions++;
+		boolean merge = node1.isRepresentative() && node2.isRepresentative() && !node1.equals(node2);
+		uf.union(node1, node2);
+		if (!merge) return;
+		merges++;
+		UnionFindNode<D> winner = node1.isRepresentative() ? node1 : node2; //rappresentante del nuovo set
+		UnionFindNode<D> loser = (winner == node1) ? node2 : node1;
+		int[] w = sets.get(winner), l = sets.remove(loser);
+		if (trees) {
+			w[1] = Math.max(w[1], l[1] + 1); //la radice assorbita scende di un livello
+		} else {
+			w[1] = 1;
+			relabels[bucket(l[0])]++; //la lista assorbita viene rietichettata
+			relabelTotal += l[0];
+		}
+		w[0] += l[0];
+		if (w[1] > height) {
+			height = w[1];
+			heightHistory.add(new long[] { merges, height });
+		}
+	}
+
+	/**
+	 * Returns the representative of the set to which the node belongs to in the decorated
+	 * structure, recording the length of the path; Cost: the length of the path plus
+	 * the cost of the decorated find
+	 * @param node the node to consider
+	 * @return the representative of the set to which the node belongs to
+	 */
+	public UnionFindNode<D> find(UnionFindNode<D> node) {
+		finds++;
+		int length = 0;
+		if (trees) {
+			for (QuickUnionNode<D> q = (QuickUnionNode<D>)node; !q.isRepresentative(); q = q.parent)
+				length++; //risale di un livello
+		} else if (!node.isRepresentative()) {
+			length = 1;
+		}
+		findPaths[bucket(length)]++;
+		findPathTotal += length;
+		return uf.find(node);
+	}
+
+	/**
+	 * Returns the bucket of a value in the histograms
+	 * @param value a non negative value
+	 * @return the index of the bucket counting the value
+	 */
+	public static int bucket(int value) {
+		return 32 - Integer.numberOfLeadingZeros(value);
+	}
+
+	/**
+	 * Returns the smallest value counted by a bucket of the histograms
+	 * @param bucket the index of the bucket
+	 * @return the smallest value of the bucket
+	 */
+	public static long bucketMin(int bucket) {
+		return (bucket == 0) ? 0 : 1L << (bucket - 1);
+	}
+
+	/**
+	 * Returns the number of makeSet calls
+	 * @return the number of makeSet calls
+	 */
+	public long makeSetNum() {
+		return makeSets;
+	}
+
+	/**
+	 * Returns the number of union calls
+	 * @return the number of union calls
+	 */
+	public long unionNum() {
+		return unions;
+	}
+
+	/**
+	 * Returns the number of union calls that merged two distinct sets
+	 * @return the number of merges
+	 */
+	public long mergeNum() {
+		return merges;
+	}
+
+	/**
+	 * Returns the number of find calls
+	 * @return the number of find calls
+	 */
+	public long findNum() {
+		return finds;
+	}
+
+	/**
+	 * Returns the histogram of the find path lengths
+	 * @return a copy of the histogram, with BUCKETS logarithmic buckets
+	 */
+	public long[] findPathHistogram() {
+		return findPaths.clone();
+	}
+
+	/**
+	 * Returns the sum of the lengths of the find paths
+	 * @return the total find path length
+	 */
+	public long findPathTotal() {
+		return findPathTotal;
+	}
+
+	/**
+	 * Returns the histogram of the relabel counts of the unions (empty for the
+	 * Quick Union structures)
+	 * @return a copy of the histogram, with BUCKETS logarithmic buckets
+	 */
+	public long[] relabelHistogram() {
+		return relabels.clone();
+	}
+
+	/**
+	 * Returns the total number of nodes relabeled by the unions (0 for the
+	 * Quick Union structures)
+	 * @return the total relabel count
+	 */
+	public long relabelTotal() {
+		return relabelTotal;
+	}
+
+	/**
+	 * Returns the maximum height reached by the sets
+	 * @return the maximum height
+	 */
+	public int height() {
+		return height;
+	}
+
+	/**
+	 * Returns the growth of the maximum height over time
+	 * @return for each growth, the number of merges performed and the new maximum height
+	 */
+	public long[][] heightHistory() {
+		return heightHistory.toArray(new long[0][]);
+	}
+
+	/**
+	 * Returns the name of the decorated structure
+	 * @return the simple name of the class of the decorated structure
+	 */
+	public String structureName() {
+		return uf.getClass().getSimpleName();
+	}
+
+	/**
+	 * Returns a printable string representation of the decorated structure
+	 * @return string representation of the Union Find structure
+	 */
+	@Override
+	public String toString() {
+		return uf.toString();
+	}
+
+}
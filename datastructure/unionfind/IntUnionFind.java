@@ -0,0 +1,33 @@
+package datastructure.unionfind;
+
+/**
+ * Interface for a Union Find data structure over the integers 0, 1, ..., n-1,
+ * which identify the elements (e.g. the dense indexes of the vertexes of a graph).
+ * Initially each element populates a singleton
+ */
+public interface IntUnionFind {
+
+	/**
+	 * Returns the number of elements in the structure
+	 * @return the number of elements
+	 */
+	public int size();
+
+	/**
+	 * Performs the union of the sets containing two elements.
+	 * Differently from UnionFind, the elements do not need to be representatives:
+	 * if they already belong to the same set nothing is done.
+	 * @param x an element of the first set
+	 * @param y an element of the second set
+	 * @return true if the two sets were disjoint and have been merged
+	 */
+	public boolean union(int x, int y);
+
+	/**
+	 * Returns the representative of the set to which an element belongs to
+	 * @param x the element to consider
+	 * @return the representative of the set to which the element belongs to
+	 */
+	public int find(int x);
+
+}
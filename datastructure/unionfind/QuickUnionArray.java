@@ -0,0 +1,114 @@
+package datastructure.unionfind;
+
+/**
+ * Implementation of a Union Find data structure over the integers 0, 1, ..., n-1 based
+ * on Quick Union, where the parent pointers are stored in a primitive array instead of
+ * in node objects. Union uses the heuristic on the rank (or, optionally, on the size)
+ * and find uses path compression: all the elements met while following the sequence
+ * of linked parents are made children of the representative. With both heuristics the
+ * amortized cost of a sequence of operations is almost constant per operation
+ * (inverse Ackermann function of n).
+ * The subclasses QuickUnionArrayHalving and QuickUnionArraySplitting replace path
+ * compression with the one-pass variants of path halving and path splitting
+ */
+public class QuickUnionArray implements IntUnionFind {
+
+	/** the parent of each element; a representative is parent of itself */
+	protected int[] parent;
+
+	/** the rank of each representative (or its size, if the union is by size) */
+	protected int[] rank;
+
+	/** true if the union uses the heuristic on the size instead of the rank */
+	protected boolean bySize;
+
+	/**
+	 * Creates an union find structure with n singletons, using union by rank
+	 * @param n the number of elements
+	 */
+	public QuickUnionArray(int n) {
+		this(n, false);
+	}
+
+	/**
+	 * Creates an union find structure with n singletons
+	 * @param n the number of elements
+	 * @param bySize true to use the heuristic on the size, false to use the one on the rank
+	 */
+	public QuickUnionArray(int n, boolean bySize) {
+		this.bySize = bySize;
+		parent = new int[n];
+		rank = new int[n];
+		for (int i = 0; i < n; i++) {
+			parent[i] = i;
+			rank[i] = bySize ? 1 : 0;
+		}
+	}
+
+	/**
+	 * Returns the number of elements in the structure; Cost: O(1)
+	 * @return the number of elements
+	 */
+	public int size() {
+		return parent.length;
+	}
+
+	/**
+	 * Performs the union of the sets containing two elements, by pointing the
+	 * parent pointer of the representative with smaller rank (or size) to the other
+	 * representative (if the elements already belong to the same set nothing is done);
+	 * Amortized Cost: O(&alpha;(n)), where n is the number of elements in the structure
+	 * @param x an element of the first set
+	 * @param y an element of the second set
+	 * @return true if the two sets were disjoint and have been merged
+	 */
+	public boolean union(int x, int y) {
+		int rx = find(x);
+		int ry = find(y);
+		if (rx == ry) return false;
+		if (rank[rx] < rank[ry]) { //rx diventa figlio di ry
+			int t = rx; rx = ry; ry = t;
+		}
+		parent[ry] = rx; //rende ry figlio di rx
+		if (bySize)
+			rank[rx] = rank[rx] + rank[ry]; //aggiorna il size
+		else if (rank[rx] == rank[ry])
+			rank[rx] = rank[rx] + 1; //il rango aumenta
+		return true;
+	}
+
+	/**
+	 * Returns the representative of the set to which an element belongs to, by
+	 * following the sequence of linked parents and then making all the elements
+	 * met children of the representative (path compression);
+	 * Amortized Cost: O(&alpha;(n)), where n is the number of elements in the structure
+	 * @param x the element to consider
+	 * @return the representative of the set to which the element belongs to
+	 */
+	public int find(int x) {
+		int r = x;
+		while (parent[r] != r)
+			r = parent[r]; //passa al padre
+		while (parent[x] != r) { //seconda passata: collega i nodi alla radice
+			int next = parent[x];
+			parent[x] = r;
+			x = next;
+		}
+		return r;
+	}
+
+	/**
+	 * Returns a printable string representation of Union Find structure. 
+	 * For each element prints the corresponding representative. 
+	 * Cost O(n &alpha;(n)), where n is the number of elements in the structure
+	 * @return string representation of the Union Find structure
+	 */
+	@Override
+	public String toString() {
+		StringBuilder S = new StringBuilder(parent.length*10);
+		for (int i=0; i<parent.length; i++)
+			S.append(i).append(" - ").append(find(i)).append("\n");
+		return S.toString();
+	}
+
+}
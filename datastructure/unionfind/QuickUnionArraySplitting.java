@@ -0,0 +1,47 @@
+package datastructure.unionfind;
+
+/**
+ * Implementation of a Union Find data structure over the integers 0, 1, ..., n-1 based
+ * on QuickUnionArray, where find uses path splitting instead of path compression:
+ * while following the sequence of linked parents, each element is made child
+ * of its grandparent. The representative is found in a single pass over the path, with
+ * the same amortized bound of path compression
+ */
+public class QuickUnionArraySplitting extends QuickUnionArray {
+
+	/**
+	 * Creates an union find structure with n singletons, using union by rank
+	 * @param n the number of elements
+	 */
+	public QuickUnionArraySplitting(int n) {
+		super(n);
+	}
+
+	/**
+	 * Creates an union find structure with n singletons
+	 * @param n the number of elements
+	 * @param bySize true to use the heuristic on the size, false to use the one on the rank
+	 */
+	public QuickUnionArraySplitting(int n, boolean bySize) {
+		super(n, bySize);
+	}
+
+	/**
+	 * Returns the representative of the set to which an element belongs to, by
+	 * following the sequence of linked parents and making each element
+	 * child of its grandparent (path splitting);
+	 * Amortized Cost: O(&alpha;(n)), where n is the number of elements in the structure
+	 * @param x the element to consider
+	 * @return the representative of the set to which the element belongs to
+	 */
+	@Override
+	public int find(int x) {
+		while (parent[x] != x) {
+			int next = parent[x];
+			parent[x] = parent[next]; //collega x al nonno
+			x = next; //passa al padre
+		}
+		return x;
+	}
+
+}
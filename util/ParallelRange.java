@@ -0,0 +1,87 @@
+package util;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork-join task applying a body to all the indexes of an interval [from,to):
+ * the interval is split in halves until its length is below a given threshold,
+ * then the body is applied sequentially to each piece. It is shared by the parallel
+ * phases of the MST algorithms, of GraphALBuilder and of RadixSort, e.g.
+ * <pre>
+ * ParallelRange.run(pool, 0, n, 1 &lt;&lt; 13, (lo, hi) -&gt; {
+ *     for (int i = lo; i &lt; hi; i++) a[i] = f(i);
+ * });
+ * </pre>
+ * The tasks are never serialized
+ */
+@SuppressWarnings("serial")
+public class ParallelRange extends RecursiveAction {
+
+	/**
+	 * The body applied to the pieces of the interval
+	 */
+	public interface Body {
+
+		/**
+		 * Processes the indexes in [lo,hi)
+		 * @param lo the first index (included)
+		 * @param hi the last index (excluded)
+		 */
+		void run(int lo, int hi);
+	}
+
+	/** first index of the interval (included) */
+	protected final int lo;
+
+	/** last index of the interval (excluded) */
+	protected final int hi;
+
+	/** length under which the interval is processed sequentially */
+	protected final int threshold;
+
+	/** the body applied to the interval */
+	protected final Body body;
+
+	/**
+	 * Constructs a task for the interval [lo,hi)
+	 * @param lo the first index (included)
+	 * @param hi the last index (excluded)
+	 * @param threshold length under which the interval is processed sequentially
+	 * @param body the body to apply
+	 */
+	protected ParallelRange(int lo, int hi, int threshold, Body body) {
+		this.lo = lo; this.hi = hi; this.threshold = threshold; this.body = body;
+	}
+
+	/**
+	 * Splits the interval until it is short enough and processes the pieces
+	 */
+	@Override
+	protected void compute() {
+		if (hi - lo <= threshold) {
+			body.run(lo, hi);
+			return;
+		}
+		int mid = (lo + hi) >>> 1;
+		invokeAll(new ParallelRange(lo, mid, threshold, body),
+			new ParallelRange(mid, hi, threshold, body));
+	}
+
+	/**
+	 * Applies a body to all the indexes of [from,to) using the tasks of a pool
+	 * (the call returns when all the indexes have been processed)
+	 * @param pool the pool running the tasks
+	 * @param from the first index (included)
+	 * @param to the last index (excluded)
+	 * @param threshold length under which an interval is processed sequentially
+	 * @param body the body to apply
+	 */
+	public static void run(ForkJoinPool pool, int from, int to, int threshold, Body body) {
+		if (to - from <= threshold)
+			body.run(from, to); //evita il passaggio dal pool per intervalli piccoli
+		else
+			pool.invoke(new ParallelRange(from, to, threshold, body));
+	}
+
+}